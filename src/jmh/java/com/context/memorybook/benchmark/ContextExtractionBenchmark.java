@@ -0,0 +1,70 @@
+package com.context.memorybook.benchmark;
+
+import com.context.memorybook.domain.ai.service.ContextExtractionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text analysis done for every shared item, on articles from a short news item to a long read
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContextExtractionBenchmark {
+
+    @Param({"300", "1500", "8000"})
+    private int words;
+
+    private final ContextExtractionService service = new ContextExtractionService();
+
+    private String title;
+    private String description;
+    private String article;
+    private String context;
+    private String otherContext;
+
+    @Setup
+    public void setUp() {
+        SyntheticText text = new SyntheticText(words, 20000);
+        title = text.article(8);
+        description = text.article(30);
+        article = text.article(words);
+        context = service.extractContext(title, description, article);
+        otherContext = service.extractContext(title, description, text.article(words));
+    }
+
+    @Benchmark
+    public List<String> extractKeywords() {
+        return service.extractKeywords(article);
+    }
+
+    @Benchmark
+    public String extractContext() {
+        return service.extractContext(title, description, article);
+    }
+
+    @Benchmark
+    public double calculateSimilarity() {
+        return service.calculateSimilarity(context, otherContext);
+    }
+
+    @Benchmark
+    public String generateSummary() {
+        return service.generateSummary(article, 200);
+    }
+}
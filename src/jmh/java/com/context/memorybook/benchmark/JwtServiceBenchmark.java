@@ -0,0 +1,105 @@
+package com.context.memorybook.benchmark;
+
+import com.context.memorybook.common.enums.Role;
+import com.context.memorybook.domain.user.model.User;
+import com.context.memorybook.infrastructure.security.JwtService;
+import com.context.memorybook.infrastructure.security.UserPrincipal;
+import com.context.memorybook.infrastructure.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of verifying the bearer token of one request.
+ * legacyTripleParse repeats what JwtFilter used to do: rebuild the key and parser and
+ * parse the token three times. The verify benchmarks parse once, without and with the token cache;
+ * generateToken and validateToken measure login and the validateToken API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret";
+
+    private JwtService uncached;
+    private JwtService cached;
+    private String token;
+    private User user;
+    private UserPrincipal principal;
+
+    @Setup
+    public void setUp() {
+        uncached = jwtService(0);
+        cached = jwtService(10000);
+
+        user = new User();
+        user.setId(42L);
+        user.setUsername("benchmark");
+        user.setRole(Role.USER);
+        token = uncached.generateToken(user);
+        principal = new UserPrincipal(user);
+    }
+
+    private static JwtService jwtService(int tokenCacheMaxSize) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "tokenCacheMaxSize", tokenCacheMaxSize);
+        service.init();
+        return service;
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String username = legacyClaims(token).getSubject();
+        boolean sameUser = username.equals(legacyClaims(token).getSubject());
+        return sameUser && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public VerifiedToken verifyUncached() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return cached.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncached.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return uncached.validateToken(token, principal);
+    }
+
+    private static Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,107 @@
+package com.context.memorybook.benchmark;
+
+import com.context.memorybook.domain.ai.service.ContextExtractionService;
+import com.context.memorybook.domain.memory.model.Memory;
+import com.context.memorybook.domain.memory.service.MatchingKeywords;
+import com.context.memorybook.domain.memory.service.MemoryLshIndex;
+import com.context.memorybook.domain.memory.service.MemoryMatchingService;
+import com.context.memorybook.infrastructure.metrics.PipelineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matching shared content against the memories of one user through the production path:
+ * LSH candidates from the user's loaded table, then exact scoring of the candidates.
+ * The repository is answered from memory, so the numbers leave out the database round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemoryMatchingBenchmark {
+
+    private static final Long USER_ID = 1L;
+    private static final int QUERIES = 64;
+
+    @Param({"100", "1000", "10000", "50000"})
+    private int memories;
+
+    private MemoryMatchingService service;
+    private Set<String>[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // A larger vocabulary for larger users keeps the share of matching memories realistic
+        SyntheticText text = new SyntheticText(memories, Math.max(2000, memories / 2));
+        Map<Long, Memory> stored = new HashMap<>();
+        for (long id = 1; id <= memories; id++) {
+            Memory memory = new Memory();
+            memory.setId(id);
+            memory.setUserId(USER_ID);
+            memory.setContext(text.keywords(10));
+            memory.setKeywords(text.keywords(15));
+            memory.setRelevanceScore(1 + (int) (id % 5));
+            stored.put(id, memory);
+        }
+
+        ContextExtractionService contextExtractionService = new ContextExtractionService();
+        MatchingKeywords matchingKeywords = new MatchingKeywords();
+        ReflectionTestUtils.setField(matchingKeywords, "contextExtractionService", contextExtractionService);
+
+        MemoryLshIndex memoryLshIndex = new MemoryLshIndex();
+        ReflectionTestUtils.setField(memoryLshIndex, "matchingKeywords", matchingKeywords);
+        ReflectionTestUtils.setField(memoryLshIndex, "idleTimeoutMs", Long.MAX_VALUE);
+        for (Memory memory : stored.values()) {
+            memoryLshIndex.sign(memory);
+        }
+        ReflectionTestUtils.setField(memoryLshIndex, "memoryRepository", StubMemoryRepository.of(stored));
+
+        service = new MemoryMatchingService();
+        ReflectionTestUtils.setField(service, "memoryRepository", StubMemoryRepository.of(stored));
+        ReflectionTestUtils.setField(service, "contextExtractionService", contextExtractionService);
+        ReflectionTestUtils.setField(service, "matchingKeywords", matchingKeywords);
+        ReflectionTestUtils.setField(service, "memoryLshIndex", memoryLshIndex);
+        ReflectionTestUtils.setField(service, "pipelineMetrics", new PipelineMetrics(new SimpleMeterRegistry()));
+
+        // Context keywords like the ones extracted from shared articles, half of them close to a stored memory
+        @SuppressWarnings("unchecked")
+        Set<String>[] contexts = new Set[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String context = i % 2 == 0
+                    ? stored.get(1L + (i * 7919L) % memories).getContext()
+                    : text.keywords(10);
+            contexts[i] = new HashSet<>(contextExtractionService.extractKeywords(context));
+        }
+        queries = contexts;
+
+        // Load the user's LSH table outside the measurement
+        service.findMostSimilarMemory(USER_ID, queries[0]);
+    }
+
+    @Benchmark
+    public Memory findMostSimilarMemory() {
+        Set<String> query = queries[next];
+        next = (next + 1) % QUERIES;
+        return service.findMostSimilarMemory(USER_ID, query);
+    }
+}
@@ -0,0 +1,115 @@
+package com.context.memorybook.benchmark;
+
+import com.context.memorybook.domain.memory.model.Memory;
+import com.context.memorybook.domain.memory.repository.MemoryKeywordsView;
+import com.context.memorybook.domain.memory.repository.MemoryRepository;
+import com.context.memorybook.domain.memory.repository.MemorySignatureView;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory MemoryRepository answering only the queries memory matching makes,
+ * so benchmarks measure matching rather than the database
+ */
+final class StubMemoryRepository {
+
+    private StubMemoryRepository() {
+    }
+
+    /**
+     * Memories must be signed (see MemoryLshIndex.sign) before the user's LSH table is loaded
+     */
+    static MemoryRepository of(Map<Long, Memory> memories) {
+
+        return (MemoryRepository) Proxy.newProxyInstance(
+                MemoryRepository.class.getClassLoader(),
+                new Class<?>[]{MemoryRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findSignaturesByUserId" -> memories.values().stream()
+                            .map(StubMemoryRepository::signatureView)
+                            .toList();
+                    case "findKeywordsByIdIn" -> {
+                        List<MemoryKeywordsView> found = new ArrayList<>();
+                        for (Object id : (Iterable<?>) args[0]) {
+                            Memory memory = memories.get(id);
+                            if (memory != null) {
+                                found.add(view(memory));
+                            }
+                        }
+                        yield found;
+                    }
+                    case "findById" -> Optional.ofNullable(memories.get(args[0]));
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubMemoryRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static MemoryKeywordsView view(Memory memory) {
+        return new MemoryKeywordsView() {
+            @Override
+            public Long getId() {
+                return memory.getId();
+            }
+
+            @Override
+            public Long getUserId() {
+                return memory.getUserId();
+            }
+
+            @Override
+            public String getContext() {
+                return memory.getContext();
+            }
+
+            @Override
+            public String getKeywords() {
+                return memory.getKeywords();
+            }
+
+            @Override
+            public Integer getRelevanceScore() {
+                return memory.getRelevanceScore();
+            }
+        };
+    }
+
+    private static MemorySignatureView signatureView(Memory memory) {
+        return new MemorySignatureView() {
+            @Override
+            public Long getId() {
+                return memory.getId();
+            }
+
+            @Override
+            public Long getUserId() {
+                return memory.getUserId();
+            }
+
+            @Override
+            public String getContext() {
+                return memory.getContext();
+            }
+
+            @Override
+            public String getKeywords() {
+                return memory.getKeywords();
+            }
+
+            @Override
+            public byte[] getMinhashSignature() {
+                return memory.getMinhashSignature();
+            }
+
+            @Override
+            public Long getChangeSeq() {
+                return memory.getChangeSeq();
+            }
+        };
+    }
+}
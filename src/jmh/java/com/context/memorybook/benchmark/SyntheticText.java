@@ -0,0 +1,89 @@
+package com.context.memorybook.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic English-like text for benchmarks.
+ * Word frequencies are skewed like natural language: a few terms are very common
+ * and most are rare, and about 40% of the words are short or stop words.
+ */
+final class SyntheticText {
+
+    private static final String[] FILLER = {
+            "the", "of", "and", "to", "in", "is", "that", "for", "it", "on",
+            "with", "as", "was", "at", "by", "an", "be", "this", "are", "or"
+    };
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ter", "son", "ra", "vel", "dor", "an", "is",
+            "pre", "con", "tion", "ment", "ly", "ex", "per", "ing", "al", "ure"
+    };
+
+    private final Random random;
+    private final List<String> vocabulary;
+
+    SyntheticText(long seed, int vocabularySize) {
+        this.random = new Random(seed);
+        this.vocabulary = new ArrayList<>(vocabularySize);
+        Set<String> seen = new HashSet<>();
+        Random words = new Random(42);
+        while (vocabulary.size() < vocabularySize) {
+            StringBuilder word = new StringBuilder();
+            int syllables = 2 + words.nextInt(3);
+            for (int i = 0; i < syllables; i++) {
+                word.append(SYLLABLES[words.nextInt(SYLLABLES.length)]);
+            }
+            if (word.length() >= 4 && seen.add(word.toString())) {
+                vocabulary.add(word.toString());
+            }
+        }
+    }
+
+    /**
+     * Content word, common ones far more often than rare ones
+     */
+    String word() {
+        double r = random.nextDouble();
+        return vocabulary.get((int) (vocabulary.size() * r * r * r));
+    }
+
+    /**
+     * Text of about the given number of words in sentences of 8 to 24 words
+     */
+    String article(int words) {
+        StringBuilder text = new StringBuilder(words * 7);
+        int written = 0;
+        while (written < words) {
+            int sentence = 8 + random.nextInt(17);
+            for (int i = 0; i < sentence; i++) {
+                String word = random.nextInt(10) < 4 ? FILLER[random.nextInt(FILLER.length)] : word();
+                if (i == 0) {
+                    word = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+                } else {
+                    text.append(random.nextInt(12) == 0 ? ", " : " ");
+                }
+                text.append(word);
+            }
+            text.append(". ");
+            written += sentence;
+        }
+        return text.toString();
+    }
+
+    /**
+     * Comma separated distinct content words, like a stored memory context
+     */
+    String keywords(int count) {
+        List<String> keywords = new ArrayList<>(count);
+        while (keywords.size() < count) {
+            String word = word();
+            if (!keywords.contains(word)) {
+                keywords.add(word);
+            }
+        }
+        return String.join(", ", keywords);
+    }
+}
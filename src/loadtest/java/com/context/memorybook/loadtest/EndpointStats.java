@@ -0,0 +1,92 @@
+package com.context.memorybook.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies, status codes and errors of one endpoint during the measured period
+ */
+public class EndpointStats {
+
+    // Status reported for requests that failed without a response (timeouts, refused connections)
+    public static final int NO_RESPONSE = 0;
+
+    private static final double[] PERCENTILES = {50, 75, 90, 95, 99, 99.9};
+
+    private final String name;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    public void record(long micros, int status, boolean ok) {
+        latencies.record(micros);
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (!ok) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Add another endpoint's samples, to report all endpoints together
+     */
+    public void addAll(EndpointStats other) {
+        latencies.addAll(other.latencies);
+        errors.add(other.errors.sum());
+        other.statuses.forEach((status, count) ->
+                statuses.computeIfAbsent(status, s -> new LongAdder()).add(count.sum()));
+    }
+
+    public long count() {
+        return latencies.count();
+    }
+
+    public double errorRate() {
+        long count = count();
+        return count == 0 ? 0 : errors.sum() / (double) count;
+    }
+
+    public double percentileMs(double percentile) {
+        return latencies.percentile(percentile) / 1000.0;
+    }
+
+    public String summary(double seconds) {
+        StringBuilder line = new StringBuilder(String.format("%-8s %8d req %9.1f req/s  errors %6.2f%%  mean %7.1f ms",
+                name, count(), count() / seconds, errorRate() * 100, latencies.mean() / 1000));
+        for (double percentile : PERCENTILES) {
+            line.append(String.format("  p%s %7.1f", format(percentile), percentileMs(percentile)));
+        }
+        line.append(String.format("  max %7.1f ms", latencies.max() / 1000.0));
+        return line.toString();
+    }
+
+    public ObjectNode toJson(ObjectMapper mapper, double seconds) {
+        ObjectNode json = mapper.createObjectNode()
+                .put("requests", count())
+                .put("throughput", count() / seconds)
+                .put("errorRate", errorRate())
+                .put("meanMs", latencies.mean() / 1000)
+                .put("maxMs", latencies.max() / 1000.0);
+        ObjectNode percentiles = json.putObject("percentilesMs");
+        for (double percentile : PERCENTILES) {
+            percentiles.put("p" + format(percentile), percentileMs(percentile));
+        }
+        ObjectNode statusCounts = json.putObject("statuses");
+        new TreeMap<>(statuses).forEach((status, count) -> statusCounts.put(String.valueOf(status), count.sum()));
+        ObjectNode histogram = json.putObject("histogramMicros");
+        latencies.buckets().forEach((upperBound, count) -> histogram.put(String.valueOf(upperBound), count));
+        return json;
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,353 @@
+package com.context.memorybook.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop load against a running server: signs up and logs in a number of users, seeds
+ * each with shared articles, then every concurrent client repeatedly picks an operation from
+ * the mix for one of the users and waits for the answer before the next request.
+ *
+ * Start the server with the loadtest profile (embedded H2, no Postgres needed):
+ *
+ *   mvn -Ploadtest spring-boot:run -Dspring-boot.run.profiles=loadtest
+ *   mvn -Ploadtest test-compile exec:exec -Dloadtest.args="-Dloadtest.label=baseline"
+ *
+ * and compare a later run with it using -Dloadtest.compare=target/loadtest-baseline.json.
+ *
+ * Settings (system properties): loadtest.base-url, loadtest.users, loadtest.seed-shares,
+ * loadtest.concurrency, loadtest.duration-s, loadtest.warmup-s, loadtest.label,
+ * loadtest.compare and loadtest.mix, the weights of share, list, search and get
+ * (e.g. share=10,list=40,search=20,get=30)
+ */
+public class LoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String[] TOPICS = {
+            "travel", "cooking", "java", "gardening", "music", "finance", "running", "history",
+            "photography", "databases", "climbing", "painting", "astronomy", "chess", "coffee", "design"
+    };
+    private static final String[] WORDS = {
+            "guide", "notes", "tips", "review", "summer", "winter", "beginner", "advanced", "weekend",
+            "project", "budget", "recipe", "practice", "journey", "collection", "tutorial", "planning"
+    };
+
+    private final String baseUrl = System.getProperty("loadtest.base-url", "http://localhost:8080");
+    private final int users = Integer.getInteger("loadtest.users", 20);
+    private final int seedShares = Integer.getInteger("loadtest.seed-shares", 20);
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 200);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-s", 60);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-s", 10);
+    private final String label = System.getProperty("loadtest.label", "run");
+    private final Mix mix = Mix.parse(System.getProperty("loadtest.mix", "share=10,list=40,search=20,get=30"));
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    /**
+     * A signed-in user and the ids of their memories
+     */
+    private record Session(String token, List<Long> memoryIds, Set<Long> knownIds) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest().run();
+    }
+
+    private void run() throws Exception {
+        for (String operation : Mix.OPERATIONS) {
+            stats.put(operation, new EndpointStats(operation));
+        }
+
+        long setupStart = System.nanoTime();
+        List<Session> sessions = setUp();
+        System.out.printf("%s: %d users ready in %.1fs; %d clients against %s, mix %s, %ds warm-up then %ds measured%n",
+                label, sessions.size(), (System.nanoTime() - setupStart) / 1e9, concurrency, baseUrl, mix,
+                warmupSeconds, durationSeconds);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                Session session = sessions.get(i % sessions.size());
+                clients.submit(() -> clientLoop(session));
+            }
+            Thread.sleep(warmupSeconds * 1000L);
+            recording = true;
+            long start = System.nanoTime();
+            Thread.sleep(durationSeconds * 1000L);
+            recording = false;
+            running = false;
+            report((System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    /**
+     * Sign up, log in and seed the users, a few at a time so password hashing is not saturated
+     */
+    private List<Session> setUp() throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        Semaphore permits = new Semaphore(4);
+        List<Future<Session>> futures = new ArrayList<>();
+        try (ExecutorService setup = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                String username = "loadtest-" + runId + "-" + i;
+                futures.add(setup.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return setUpUser(username);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+        List<Session> sessions = new ArrayList<>();
+        for (Future<Session> future : futures) {
+            sessions.add(future.get());
+        }
+        return sessions;
+    }
+
+    private Session setUpUser(String username) throws IOException, InterruptedException {
+        Map<String, String> user = Map.of(
+                "username", username,
+                "email", username + "@example.com",
+                "password", "loadtest-password");
+        send(post("/api/auth/signup", null, user));
+        String token = send(post("/api/auth/login", null, user));
+
+        Session session = new Session(token, new CopyOnWriteArrayList<>(), ConcurrentHashMap.newKeySet());
+        for (int i = 0; i < seedShares; i++) {
+            addMemory(session, MAPPER.readTree(send(share(session))));
+        }
+        if (session.memoryIds().isEmpty()) {
+            throw new IllegalStateException("No memories created for " + username);
+        }
+        return session;
+    }
+
+    private void clientLoop(Session session) {
+        while (running) {
+            String operation = mix.next();
+            HttpRequest request = switch (operation) {
+                case "share" -> share(session);
+                case "list" -> get("/api/memories?limit=20", session.token());
+                case "search" -> get("/api/memories/search?limit=20&query=" + URLEncoder.encode(
+                        TOPICS[random(TOPICS.length)], StandardCharsets.UTF_8), session.token());
+                default -> get("/api/memories/" + session.memoryIds().get(random(session.memoryIds().size())),
+                        session.token());
+            };
+
+            long start = System.nanoTime();
+            int status;
+            String body = null;
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                status = response.statusCode();
+                body = response.body();
+            } catch (IOException e) {
+                status = EndpointStats.NO_RESPONSE;
+            } catch (InterruptedException e) {
+                return;
+            }
+            long micros = (System.nanoTime() - start) / 1000;
+
+            if (recording) {
+                stats.get(operation).record(micros, status, status == 200);
+            }
+            if (status == 200 && operation.equals("share")) {
+                try {
+                    addMemory(session, MAPPER.readTree(body));
+                } catch (IOException e) {
+                    // Counted as a success; the new memory is just not read back
+                }
+            }
+        }
+    }
+
+    private void addMemory(Session session, JsonNode shareResponse) {
+        JsonNode id = shareResponse.path("memory").path("id");
+        if (id.isNumber() && session.knownIds().add(id.asLong())) {
+            session.memoryIds().add(id.asLong());
+        }
+    }
+
+    private HttpRequest share(Session session) {
+        String topic = TOPICS[random(TOPICS.length)];
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 60; i++) {
+            text.append(i % 5 == 0 ? topic : WORDS[random(WORDS.length)]).append(i % 12 == 11 ? ". " : " ");
+        }
+        return post("/api/content/share", session.token(), Map.of(
+                "type", "ARTICLE",
+                "title", topic + " " + WORDS[random(WORDS.length)],
+                "description", "About " + topic,
+                "textContent", text.toString()));
+    }
+
+    private void report(double seconds) throws IOException {
+        EndpointStats total = new EndpointStats("total");
+        stats.values().forEach(total::addAll);
+
+        System.out.println();
+        stats.values().forEach(endpoint -> System.out.println(endpoint.summary(seconds)));
+        System.out.println(total.summary(seconds));
+
+        ObjectNode result = MAPPER.createObjectNode()
+                .put("label", label)
+                .put("users", users)
+                .put("concurrency", concurrency)
+                .put("durationSeconds", seconds)
+                .put("mix", mix.toString());
+        result.set("total", total.toJson(MAPPER, seconds));
+        ObjectNode endpoints = result.putObject("endpoints");
+        stats.forEach((operation, endpoint) -> endpoints.set(operation, endpoint.toJson(MAPPER, seconds)));
+
+        Path out = Path.of("target", "loadtest-" + label + ".json");
+        Files.createDirectories(out.getParent());
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(out.toFile(), result);
+        System.out.println("Results written to " + out);
+
+        String compare = System.getProperty("loadtest.compare");
+        if (compare != null) {
+            JsonNode baseline = MAPPER.readTree(Path.of(compare).toFile());
+            System.out.printf("vs %s: throughput %+.1f%%, p99 %+.1f%%, error rate %.2f%% -> %.2f%%%n",
+                    baseline.path("label").asText(),
+                    change(baseline.path("total").path("throughput").asDouble(), total.count() / seconds),
+                    change(baseline.path("total").path("percentilesMs").path("p99").asDouble(), total.percentileMs(99)),
+                    baseline.path("total").path("errorRate").asDouble() * 100, total.errorRate() * 100);
+        }
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100 / before;
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        String json;
+        try {
+            json = MAPPER.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Send a setup request, retrying while the server asks to back off (429/503)
+     */
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            int status = response.statusCode();
+            if ((status == 429 || status == 503) && attempt < 10) {
+                long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                Thread.sleep(retryAfter * 1000);
+                continue;
+            }
+            if (status >= 300) {
+                throw new IllegalStateException(request.uri() + " answered " + status + ": " + response.body());
+            }
+            return response.body();
+        }
+    }
+
+    /**
+     * Weighted choice between the operations
+     */
+    private static final class Mix {
+        static final List<String> OPERATIONS = List.of("share", "list", "search", "get");
+
+        private final int[] cumulative = new int[OPERATIONS.size()];
+        private final String description;
+
+        private Mix(Map<String, Integer> weights, String description) {
+            int sum = 0;
+            for (int i = 0; i < OPERATIONS.size(); i++) {
+                sum += weights.getOrDefault(OPERATIONS.get(i), 0);
+                cumulative[i] = sum;
+            }
+            if (sum <= 0) {
+                throw new IllegalArgumentException("loadtest.mix needs at least one positive weight");
+            }
+            this.description = description;
+        }
+
+        static Mix parse(String spec) {
+            Map<String, Integer> weights = new LinkedHashMap<>();
+            for (String part : spec.split(",")) {
+                String[] pair = part.trim().split("=");
+                if (pair.length != 2 || !OPERATIONS.contains(pair[0].trim())) {
+                    throw new IllegalArgumentException("Invalid loadtest.mix entry '" + part + "', expected one of "
+                            + OPERATIONS + " with a weight, e.g. share=10");
+                }
+                weights.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+            }
+            return new Mix(weights, spec);
+        }
+
+        String next() {
+            int pick = random(cumulative[cumulative.length - 1]);
+            for (int i = 0; i < cumulative.length; i++) {
+                if (pick < cumulative[i]) {
+                    return OPERATIONS.get(i);
+                }
+            }
+            return OPERATIONS.get(OPERATIONS.size() - 1);
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.context.memorybook;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class MemorybookApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,19 @@
+package com.context.memorybook.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Number of a user's rows and their latest update
+ * Any insert, update or delete of the user's rows changes at least one of them
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeWatermark {
+    private Long count;
+    private LocalDateTime updatedAt;
+}
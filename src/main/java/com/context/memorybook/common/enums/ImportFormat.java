@@ -0,0 +1,6 @@
+package com.context.memorybook.common.enums;
+
+public enum ImportFormat {
+    NDJSON,     // One content item per line (also reads MemoryBook exports)
+    BOOKMARKS   // Netscape bookmarks HTML, as exported by browsers and bookmark managers
+}
@@ -0,0 +1,7 @@
+package com.context.memorybook.common.enums;
+
+public enum ProcessingStatus {
+    PENDING,
+    COMPLETED,
+    FAILED
+}
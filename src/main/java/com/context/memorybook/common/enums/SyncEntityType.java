@@ -0,0 +1,6 @@
+package com.context.memorybook.common.enums;
+
+public enum SyncEntityType {
+    MEMORY,
+    CONTENT
+}
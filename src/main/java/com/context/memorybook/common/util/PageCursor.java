@@ -0,0 +1,87 @@
+package com.context.memorybook.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque page cursors.
+ * List endpoints use keyset cursors on (updatedAt, id), ranked search results use offsets.
+ */
+public final class PageCursor {
+
+    private final LocalDateTime updatedAt;
+    private final Long id;
+
+    private PageCursor(LocalDateTime updatedAt, Long id) {
+        this.updatedAt = updatedAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Cursor pointing after the row with the given sort key
+     */
+    public static String encode(LocalDateTime updatedAt, Long id) {
+        return encodeRaw(updatedAt + "|" + id);
+    }
+
+    /**
+     * Decode a keyset cursor; null cursors mean the first page
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String raw = decodeRaw(cursor);
+        int separator = raw.indexOf('|');
+        try {
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public static String encodeOffset(int offset) {
+        return encodeRaw("#" + offset);
+    }
+
+    /**
+     * Decode an offset cursor; null cursors mean offset 0
+     */
+    public static int decodeOffset(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        String raw = decodeRaw(cursor);
+        try {
+            int offset = Integer.parseInt(raw.substring(1));
+            if (raw.charAt(0) != '#' || offset < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return offset;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeRaw(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
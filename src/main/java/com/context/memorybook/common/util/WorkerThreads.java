@@ -0,0 +1,24 @@
+package com.context.memorybook.common.util;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ThreadFactory;
+
+public final class WorkerThreads {
+
+    private WorkerThreads() {
+    }
+
+    /**
+     * Named threads for a worker pool: virtual ones when spring.threads.virtual.enabled is set.
+     * Only for pools whose work mostly waits on the database or files; CPU-bound pools
+     * (text analysis, password hashing) keep platform threads, one per core they may use.
+     * The pool size still bounds how many tasks run at once, so database load stays the same.
+     */
+    public static ThreadFactory factory(String namePrefix, boolean virtual) {
+        if (virtual) {
+            return Thread.ofVirtual().name(namePrefix, 1).factory();
+        }
+        return new CustomizableThreadFactory(namePrefix);
+    }
+}
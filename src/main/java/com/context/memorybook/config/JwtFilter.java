@@ -1,13 +1,14 @@
 package com.context.memorybook.config;
 
 import com.context.memorybook.infrastructure.security.JwtService;
-import com.context.memorybook.infrastructure.security.MyUserDetailsService;
+import com.context.memorybook.infrastructure.security.PrincipalCache;
+import com.context.memorybook.infrastructure.security.UserPrincipal;
+import com.context.memorybook.infrastructure.security.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationContext;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,22 +25,29 @@ public class JwtFilter extends OncePerRequestFilter {
     private JwtService jwtService;
 
     @Autowired
-    private ApplicationContext context;
+    private PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String userName = null;
+        VerifiedToken token = null;
         if(authHeader != null && authHeader.startsWith("Bearer ")){
-            token = authHeader.substring(7);
-            userName = jwtService.extractUserName(token);
+            // Signature and expiry are checked once here; invalid tokens leave the request unauthenticated
+            token = jwtService.verify(authHeader.substring(7));
         }
 
-        if(userName !=null && SecurityContextHolder.getContext().getAuthentication() == null){
-            UserDetails userDetails = context.getBean(MyUserDetailsService.class).loadUserByUsername(userName);
-            if(jwtService.validateToken(token, userDetails)){
+        if(token != null && token.getUsername() != null && SecurityContextHolder.getContext().getAuthentication() == null){
+            // Tokens carrying id and role need no lookup unless the user changed since they were issued
+            UserDetails userDetails;
+            UserPrincipal tokenPrincipal = token.toPrincipal();
+            if (tokenPrincipal != null && principalCache.claimsCurrent(token.getUsername(), token.getIssuedAt())) {
+                principalCache.recordClaimsHit();
+                userDetails = tokenPrincipal;
+            } else {
+                userDetails = principalCache.get(token.getUsername());
+            }
+            if(token.getUsername().equals(userDetails.getUsername())){
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
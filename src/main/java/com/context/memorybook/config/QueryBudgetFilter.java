@@ -0,0 +1,70 @@
+package com.context.memorybook.config;
+
+import com.context.memorybook.infrastructure.persistence.QueryStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the statements and JDBC time of each request and flags requests over the query budget,
+ * listing the statements they repeated (usually a per-row lookup that should be one query).
+ * Runs before the security filters so authentication queries are included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    @Value("${memorybook.query-stats.request-budget:20}")
+    private int requestBudget;
+
+    @Value("${memorybook.query-stats.repeated-statement-threshold:5}")
+    private int repeatedStatementThreshold;
+
+    private final DistributionSummary queries;
+    private final Timer queryTime;
+
+    public QueryBudgetFilter(MeterRegistry meterRegistry) {
+        queries = DistributionSummary.builder("memorybook.request.queries")
+                .description("Hibernate statements per HTTP request")
+                .register(meterRegistry);
+        queryTime = Timer.builder("memorybook.request.query.time")
+                .description("JDBC time of Hibernate statements per HTTP request")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        QueryStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryStats stats = QueryStats.stop();
+            queries.record(stats.getCount());
+            queryTime.record(stats.getTimeNanos(), TimeUnit.NANOSECONDS);
+
+            Map<String, Integer> repeated = stats.repeated(repeatedStatementThreshold);
+            if (stats.getCount() > requestBudget || !repeated.isEmpty()) {
+                log.warn("{} {} ran {} statements in {} ms (budget {}), repeated: {}",
+                        request.getMethod(), request.getRequestURI(), stats.getCount(),
+                        stats.getTimeMillis(), requestBudget, repeated);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.context.memorybook.config;
 
+import com.context.memorybook.infrastructure.security.PasswordHashingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,7 +13,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -26,17 +26,15 @@ public class SecurityConfig {
     @Autowired
     private JwtFilter jwtFilter;
 
-
-    @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(); // Standard strength is 10-12
-    }
+    // BCrypt runs on a bounded pool instead of request threads
+    @Autowired
+    private PasswordHashingService passwordHashingService;
 
     @Bean
     public AuthenticationProvider authProvider(){
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordHashingService);
         return provider;
     }
 
@@ -47,6 +45,10 @@ public class SecurityConfig {
                 .authorizeHttpRequests(request -> request
                                 .requestMatchers("/api/auth/signup", "/api/auth/login")
                                 .permitAll()
+                                .requestMatchers("/actuator/health")
+                                .permitAll()
+                                .requestMatchers("/api/admin/**", "/actuator/**", "/api/content/share/async/stats")
+                                .hasRole("ADMIN")
                                 .anyRequest()
                                 .authenticated())
                 .httpBasic(Customizer.withDefaults())
@@ -0,0 +1,43 @@
+package com.context.memorybook.domain.admin.controller;
+
+import com.context.memorybook.domain.admin.dto.ReindexStatus;
+import com.context.memorybook.infrastructure.search.SearchReindexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Administrative operations, restricted to ADMIN users in SecurityConfig
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    @Autowired
+    private SearchReindexService searchReindexService;
+
+    /**
+     * Rebuild the search index from the database in the background
+     */
+    @PostMapping("/search/reindex")
+    public ResponseEntity<?> reindex() {
+        if (!searchReindexService.startReindex()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "A reindex is already running");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        }
+        return ResponseEntity.accepted().body(searchReindexService.getStatus());
+    }
+
+    /**
+     * Progress of the current or last reindex
+     */
+    @GetMapping("/search/reindex")
+    public ResponseEntity<ReindexStatus> getReindexStatus() {
+        return ResponseEntity.ok(searchReindexService.getStatus());
+    }
+}
@@ -0,0 +1,20 @@
+package com.context.memorybook.domain.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReindexStatus {
+    private boolean running;
+    private long memoriesIndexed;
+    private long segmentsIndexed;
+    private long contentsIndexed;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error; // Set if the last reindex failed
+}
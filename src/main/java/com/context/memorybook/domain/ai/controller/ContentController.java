@@ -3,22 +3,31 @@ package com.context.memorybook.domain.ai.controller;
 import com.context.memorybook.domain.user.model.User;
 import com.context.memorybook.domain.ai.dto.ShareContentRequest;
 import com.context.memorybook.domain.ai.dto.ShareContentResponse;
+import com.context.memorybook.domain.ai.dto.ContentStatusResponse;
+import com.context.memorybook.domain.ai.dto.ShareQueueStats;
 import com.context.memorybook.common.enums.ContentType;
+import com.context.memorybook.common.enums.ProcessingStatus;
+import com.context.memorybook.common.util.ETags;
 import com.context.memorybook.infrastructure.security.UserPrincipal;
 import com.context.memorybook.domain.ai.model.Content;
-import com.context.memorybook.domain.memory.model.Memory;
+import com.context.memorybook.domain.ai.repository.ContentStatusView;
+import com.context.memorybook.domain.ai.service.ContentProcessingService;
 import com.context.memorybook.domain.ai.service.ContentService;
-import com.context.memorybook.domain.ai.service.ContextExtractionService;
-import com.context.memorybook.domain.memory.service.MemoryService;
+import com.context.memorybook.domain.ai.service.ContentShareService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/content")
@@ -28,69 +37,29 @@ public class ContentController {
     private ContentService contentService;
 
     @Autowired
-    private MemoryService memoryService;
+    private ContentShareService contentShareService;
 
     @Autowired
-    private ContextExtractionService contextExtractionService;
+    private ContentProcessingService contentProcessingService;
+
+    @Value("${memorybook.share.batch.max-items:100}")
+    private int maxBatchSize;
 
     /**
      * Share content (article, blog, news, link, etc.)
      * This is the main endpoint that handles smart memory creation/updating
+     * The full body of an updated memory is only returned with includeContent=true
      */
     @PostMapping("/share")
     public ResponseEntity<?> shareContent(
             @RequestBody ShareContentRequest request,
+            @RequestParam(defaultValue = "false") boolean includeContent,
             Authentication authentication) {
         try {
             // Get user ID from authentication
             Long userId = getUserIdFromAuthentication(authentication);
 
-            // Create Content entity
-            Content content = new Content();
-            content.setUserId(userId);
-            content.setType(request.getType());
-            content.setTitle(request.getTitle());
-            content.setDescription(request.getDescription());
-            content.setTextContent(request.getTextContent());
-            content.setUrl(request.getUrl());
-            content.setSource(request.getSource());
-
-            // Extract context from content
-            String extractedContext = contextExtractionService.extractContext(
-                    request.getTitle(),
-                    request.getDescription(),
-                    request.getTextContent()
-            );
-            content.setExtractedContext(extractedContext);
-
-            // Extract keywords
-            String fullText = (request.getTitle() != null ? request.getTitle() : "") + " " +
-                            (request.getDescription() != null ? request.getDescription() : "") + " " +
-                            (request.getTextContent() != null ? request.getTextContent() : "");
-            List<String> keywords = contextExtractionService.extractKeywords(fullText);
-            content.setKeywords(String.join(", ", keywords));
-
-            // Save content first
-            Content savedContent = contentService.saveContent(content);
-
-            // Use smart memory service to create or update memory
-            // This will automatically find similar memories and update or create new one
-            Memory memory = memoryService.createOrUpdateMemoryFromContent(userId, savedContent);
-            
-            // Determine if it's a new memory by checking relevance score
-            boolean isNewMemory = (memory.getRelevanceScore() == 1 && 
-                                   memory.getRelatedContentIds() != null && 
-                                   memory.getRelatedContentIds().equals(String.valueOf(savedContent.getId())));
-
-            // Create response
-            ShareContentResponse response = new ShareContentResponse();
-            response.setContentId(savedContent.getId());
-            response.setMemory(memory);
-            response.setNewMemory(isNewMemory);
-            response.setExtractedContext(extractedContext);
-            response.setSuggestions(memory.getSuggestions());
-            response.setSummary(memory.getSummary());
-
+            ShareContentResponse response = contentShareService.share(userId, request, includeContent);
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
@@ -101,37 +70,154 @@ public class ContentController {
     }
 
     /**
-     * Get all shared content for the authenticated user
+     * Share several content items in one request
+     * Returns one result per item, in request order, with per-item errors
+     */
+    @PostMapping("/share/batch")
+    public ResponseEntity<?> shareContentBatch(
+            @RequestBody List<ShareContentRequest> requests,
+            @RequestParam(defaultValue = "false") boolean includeContent,
+            Authentication authentication) {
+        Long userId = getUserIdFromAuthentication(authentication);
+
+        if (requests == null || requests.isEmpty() || requests.size() > maxBatchSize) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "A batch must contain between 1 and " + maxBatchSize + " items");
+            return ResponseEntity.badRequest().body(error);
+        }
+
+        List<ShareContentResponse> responses = contentShareService.shareBatch(userId, requests, includeContent);
+        return ResponseEntity.ok(responses);
+    }
+
+    /**
+     * Share content without waiting for memory merging
+     * The content is stored and 202 is returned; poll the status endpoint for the resulting memory
+     */
+    @PostMapping("/share/async")
+    public ResponseEntity<?> shareContentAsync(
+            @RequestBody ShareContentRequest request,
+            Authentication authentication) {
+        try {
+            Long userId = getUserIdFromAuthentication(authentication);
+            Content content = contentShareService.shareAsync(userId, request);
+
+            ContentStatusResponse response = new ContentStatusResponse(
+                    content.getId(), content.getProcessingStatus(), null, null);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/content/" + content.getId() + "/status"))
+                    .body(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to process content: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Processing status of shared content, including the memory it was merged into
+     */
+    @GetMapping("/{id}/status")
+    public ResponseEntity<?> getContentStatus(@PathVariable Long id, Authentication authentication) {
+        Long userId = getUserIdFromAuthentication(authentication);
+        try {
+            ContentStatusView status = contentService.getContentStatus(id, userId);
+
+            // Content shared before processing was tracked was always merged synchronously
+            ProcessingStatus processingStatus = status.getProcessingStatus() != null
+                    ? status.getProcessingStatus()
+                    : ProcessingStatus.COMPLETED;
+            return ResponseEntity.ok(new ContentStatusResponse(
+                    status.getId(), processingStatus, status.getMemoryId(), status.getProcessingError()));
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Depth and lag of the background merge queue, across all users (ADMIN only, see SecurityConfig)
+     */
+    @GetMapping("/share/async/stats")
+    public ResponseEntity<ShareQueueStats> getShareQueueStats() {
+        return ResponseEntity.ok(contentProcessingService.getStats());
+    }
+
+    /**
+     * Get shared content for the authenticated user, one page at a time
+     * Pass nextCursor back as cursor for the next page; fields adds heavy columns (e.g. fields=textContent)
+     * Answers 304 to If-None-Match while none of the user's content changed
      */
     @GetMapping("/my-content")
-    public ResponseEntity<List<Content>> getMyContent(Authentication authentication) {
+    public ResponseEntity<?> getMyContent(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) Set<String> fields,
+            Authentication authentication,
+            WebRequest webRequest) {
         Long userId = getUserIdFromAuthentication(authentication);
-        List<Content> contents = contentService.getContentByUser(userId);
-        return ResponseEntity.ok(contents);
+        try {
+            return contentPage(userId, null, cursor, limit, fields, webRequest);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
     }
 
     /**
      * Get content by type
      */
     @GetMapping("/my-content/type/{type}")
-    public ResponseEntity<List<Content>> getContentByType(
+    public ResponseEntity<?> getContentByType(
             @PathVariable ContentType type,
-            Authentication authentication) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) Set<String> fields,
+            Authentication authentication,
+            WebRequest webRequest) {
         Long userId = getUserIdFromAuthentication(authentication);
-        List<Content> contents = contentService.getContentByUserAndType(userId, type);
-        return ResponseEntity.ok(contents);
+        try {
+            return contentPage(userId, type, cursor, limit, fields, webRequest);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
     }
 
     /**
-     * Search content
+     * Search content, best match first
      */
     @GetMapping("/my-content/search")
-    public ResponseEntity<List<Content>> searchContent(
+    public ResponseEntity<?> searchContent(
             @RequestParam String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) Set<String> fields,
             Authentication authentication) {
         Long userId = getUserIdFromAuthentication(authentication);
-        List<Content> contents = contentService.searchContent(userId, query);
-        return ResponseEntity.ok(contents);
+        try {
+            return ResponseEntity.ok(contentService.searchContent(userId, query, cursor, limit, fields));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+    }
+
+    private ResponseEntity<?> contentPage(Long userId, ContentType type, String cursor, int limit,
+                                          Set<String> fields, WebRequest webRequest) {
+        String eTag = contentService.getContentPageETag(userId, type, cursor, limit, fields);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(ETags.REVALIDATE)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(ETags.REVALIDATE)
+                .body(contentService.getContentPage(userId, type, cursor, limit, fields));
+    }
+
+    private ResponseEntity<Map<String, String>> badRequest(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return ResponseEntity.badRequest().body(error);
     }
 
     /**
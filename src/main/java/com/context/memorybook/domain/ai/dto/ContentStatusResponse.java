@@ -0,0 +1,16 @@
+package com.context.memorybook.domain.ai.dto;
+
+import com.context.memorybook.common.enums.ProcessingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentStatusResponse {
+    private Long contentId;
+    private ProcessingStatus status;
+    private Long memoryId; // Memory the content was merged into, once completed
+    private String error; // Why processing failed, if it did
+}
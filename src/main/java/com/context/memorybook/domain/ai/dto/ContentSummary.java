@@ -0,0 +1,46 @@
+package com.context.memorybook.domain.ai.dto;
+
+import com.context.memorybook.common.enums.ContentType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Light view of shared content for list and search results
+ * Heavy fields are only filled when requested through the fields parameter
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ContentSummary {
+    public static final Set<String> OPTIONAL_FIELDS = Set.of("description", "textContent", "keywords", "source");
+
+    private Long id;
+    private ContentType type;
+    private String title;
+    private String url;
+    private String extractedContext;
+    private Long memoryId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    private String description;
+    private String textContent;
+    private String keywords;
+    private String source;
+
+    public ContentSummary(Long id, ContentType type, String title, String url, String extractedContext,
+                          Long memoryId, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.type = type;
+        this.title = title;
+        this.url = url;
+        this.extractedContext = extractedContext;
+        this.memoryId = memoryId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
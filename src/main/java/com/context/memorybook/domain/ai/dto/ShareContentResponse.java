@@ -1,6 +1,7 @@
 package com.context.memorybook.domain.ai.dto;
 
 import com.context.memorybook.domain.memory.model.Memory;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,10 +11,13 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class ShareContentResponse {
     private Long contentId;
-    private Memory memory; // Can be new or updated memory
+    private Memory memory; // Can be new or updated memory; updated ones carry their full content only on request
+    private String appendedContent; // Body this share added to the memory
     private boolean isNewMemory; // true if new memory was created, false if existing was updated
     private String extractedContext;
     private String suggestions;
     private String summary;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error; // Set instead of the fields above when a batch item failed
 }
 
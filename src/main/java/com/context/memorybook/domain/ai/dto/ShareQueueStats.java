@@ -0,0 +1,17 @@
+package com.context.memorybook.domain.ai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShareQueueStats {
+    private int queueDepth; // Items waiting for a worker
+    private int queueCapacity;
+    private int inFlight; // Items queued or being processed
+    private long pendingInDatabase; // Items not merged yet, including ones not queued
+    private long oldestPendingAgeMs; // How long the oldest pending item has been waiting
+    private long lastProcessingLagMs; // Time from share to merge for the last processed item
+}
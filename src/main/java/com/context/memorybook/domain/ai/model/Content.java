@@ -1,6 +1,8 @@
 package com.context.memorybook.domain.ai.model;
 
 import com.context.memorybook.common.enums.ContentType;
+import com.context.memorybook.common.enums.ProcessingStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,7 +11,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "contents")
+@Table(name = "contents", indexes = {
+        @Index(name = "idx_contents_processing_status", columnList = "processingStatus"),
+        @Index(name = "idx_contents_user_updated", columnList = "userId, updatedAt, id"),
+        @Index(name = "idx_contents_user_type_updated", columnList = "userId, type, updatedAt, id"),
+        @Index(name = "idx_contents_user_change_seq", columnList = "userId, changeSeq, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -46,6 +53,19 @@ public class Content {
     @Column(columnDefinition = "TEXT")
     private String keywords; // Extracted keywords (comma-separated)
 
+    @Enumerated(EnumType.STRING)
+    private ProcessingStatus processingStatus = ProcessingStatus.PENDING; // Whether the content was merged into a memory
+
+    private Long memoryId; // Memory the content was merged into
+
+    @Column(columnDefinition = "TEXT")
+    private String processingError; // Why merging into a memory failed
+
+    private LocalDateTime processedAt;
+
+    @JsonIgnore
+    private Long changeSeq; // Per-user change sequence number of the last change, see ChangeSequenceService
+
     private LocalDateTime createdAt = LocalDateTime.now();
     private LocalDateTime updatedAt = LocalDateTime.now();
 
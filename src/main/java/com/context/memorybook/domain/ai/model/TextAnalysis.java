@@ -0,0 +1,23 @@
+package com.context.memorybook.domain.ai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of analysing a piece of shared content once.
+ * Computed by ContextExtractionService.analyze and passed through the share pipeline
+ * so the same text is not tokenized again by every step.
+ */
+@Getter
+@AllArgsConstructor
+public class TextAnalysis {
+    private final Map<String, Integer> termFrequencies; // Frequency of every kept token
+    private final List<String> keywords; // Top keywords stored on content and memories
+    private final String context; // Derived context string (top context keywords)
+    private final List<String> contextKeywords; // Keywords of the context string, used for matching
+    private final String body; // Title, description and text as stored on a memory
+    private final List<String> sentences; // Sentences of the body, used for summaries
+}
@@ -0,0 +1,10 @@
+package com.context.memorybook.domain.ai.repository;
+
+import com.context.memorybook.domain.ai.model.Content;
+
+import java.util.List;
+
+public interface ContentBatchRepository {
+    // Insert new content rows using JDBC batches, assigning generated ids to the entities
+    void insertAll(List<Content> contents);
+}
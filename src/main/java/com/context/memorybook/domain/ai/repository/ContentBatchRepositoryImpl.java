@@ -0,0 +1,77 @@
+package com.context.memorybook.domain.ai.repository;
+
+import com.context.memorybook.domain.ai.model.Content;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch insert for contents.
+ * Content ids are IDENTITY generated, which disables Hibernate insert batching,
+ * so bulk inserts go through JdbcTemplate and read the generated keys back.
+ */
+public class ContentBatchRepositoryImpl implements ContentBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO contents " +
+            "(user_id, type, title, description, text_content, url, source, extracted_context, keywords, " +
+            "processing_status, created_at, updated_at, change_seq) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${memorybook.content.insert-batch-size:50}")
+    private int batchSize;
+
+    @Override
+    public void insertAll(List<Content> contents) {
+        for (int from = 0; from < contents.size(); from += batchSize) {
+            List<Content> batch = contents.subList(from, Math.min(from + batchSize, contents.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Content content = batch.get(i);
+                            ps.setLong(1, content.getUserId());
+                            ps.setString(2, content.getType().name());
+                            ps.setString(3, content.getTitle());
+                            ps.setString(4, content.getDescription());
+                            ps.setString(5, content.getTextContent());
+                            ps.setString(6, content.getUrl());
+                            ps.setString(7, content.getSource());
+                            ps.setString(8, content.getExtractedContext());
+                            ps.setString(9, content.getKeywords());
+                            ps.setString(10, content.getProcessingStatus().name());
+                            ps.setTimestamp(11, Timestamp.valueOf(content.getCreatedAt()));
+                            ps.setTimestamp(12, Timestamp.valueOf(content.getUpdatedAt()));
+                            ps.setObject(13, content.getChangeSeq(), Types.BIGINT);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    },
+                    keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < batch.size(); i++) {
+                Number id = (Number) keys.get(i).values().iterator().next();
+                batch.get(i).setId(id.longValue());
+            }
+        }
+    }
+}
@@ -1,32 +1,114 @@
 package com.context.memorybook.domain.ai.repository;
 
+import com.context.memorybook.common.dto.ChangeWatermark;
+import com.context.memorybook.domain.ai.dto.ContentSummary;
 import com.context.memorybook.domain.ai.model.Content;
+import com.context.memorybook.domain.export.dto.ContentExport;
+import com.context.memorybook.domain.sync.repository.ChangeView;
 import com.context.memorybook.common.enums.ContentType;
+import com.context.memorybook.common.enums.ProcessingStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ContentRepository extends JpaRepository<Content, Long> {
+public interface ContentRepository extends JpaRepository<Content, Long>, ContentBatchRepository {
+    String SUMMARY_SELECT = "SELECT new com.context.memorybook.domain.ai.dto.ContentSummary(" +
+            "c.id, c.type, c.title, c.url, c.extractedContext, c.memoryId, c.createdAt, c.updatedAt) FROM Content c ";
+    String AFTER_CURSOR = "AND (c.updatedAt < :updatedAt OR (c.updatedAt = :updatedAt AND c.id < :id)) ";
+    String NEWEST_FIRST = "ORDER BY c.updatedAt DESC, c.id DESC";
+
     // Get all content for a specific user
     List<Content> findByUserId(Long userId);
 
     // Get content by type for a user
     List<Content> findByUserIdAndType(Long userId, ContentType type);
 
-    // Search content by keywords or context
-    @Query("SELECT c FROM Content c WHERE c.userId = :userId AND " +
-            "(LOWER(c.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "OR LOWER(c.description) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "OR LOWER(c.textContent) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "OR LOWER(c.extractedContext) LIKE LOWER(CONCAT('%', :query, '%')))")
-    List<Content> searchContent(Long userId, String query);
+    // Changes whenever one of the user's content items is created, updated, merged or deleted
+    @Query("SELECT new com.context.memorybook.common.dto.ChangeWatermark(COUNT(c), MAX(c.updatedAt)) " +
+            "FROM Content c WHERE c.userId = :userId")
+    ChangeWatermark findWatermarkByUserId(Long userId);
+
+    // A user's content changed after the given change sequence number, oldest change first
+    @Query("SELECT c.id AS id, c.changeSeq AS changeSeq FROM Content c " +
+            "WHERE c.userId = :userId AND c.changeSeq > :since ORDER BY c.changeSeq")
+    List<ChangeView> findChangesAfter(Long userId, Long since, Pageable pageable);
+
+    // Pages of a user's content summaries, most recently updated first (keyset on updatedAt, id)
+    @Query(SUMMARY_SELECT + "WHERE c.userId = :userId " + NEWEST_FIRST)
+    List<ContentSummary> findSummaries(Long userId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE c.userId = :userId " + AFTER_CURSOR + NEWEST_FIRST)
+    List<ContentSummary> findSummariesAfter(Long userId, LocalDateTime updatedAt, Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE c.userId = :userId AND c.type = :type " + NEWEST_FIRST)
+    List<ContentSummary> findSummariesByType(Long userId, ContentType type, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE c.userId = :userId AND c.type = :type " + AFTER_CURSOR + NEWEST_FIRST)
+    List<ContentSummary> findSummariesByTypeAfter(Long userId, ContentType type, LocalDateTime updatedAt, Long id,
+                                                  Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE c.userId = :userId AND c.id IN :ids")
+    List<ContentSummary> findSummariesByIdIn(Long userId, Collection<Long> ids);
+
+    // Stream a user's content for export
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.context.memorybook.domain.export.dto.ContentExport(c.id, c.type, c.title, c.description, " +
+            "c.textContent, c.url, c.source, c.extractedContext, c.keywords, c.processingStatus, c.memoryId, " +
+            "c.createdAt, c.updatedAt) FROM Content c WHERE c.userId = :userId ORDER BY c.id")
+    Stream<ContentExport> streamExportByUserId(Long userId);
+
+    // Page through all content in id order (used to rebuild the search index)
+    List<Content> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 
     // Find content by keywords
     @Query("SELECT c FROM Content c WHERE c.userId = :userId AND " +
             "LOWER(c.keywords) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Content> findByKeyword(Long userId, String keyword);
-}
 
+    // Processing state of a user's content item
+    Optional<ContentStatusView> findStatusByIdAndUserId(Long id, Long userId);
+
+    // Ids of content waiting to be merged into memories, oldest first
+    @Query("SELECT c.id FROM Content c WHERE c.processingStatus = :status AND c.createdAt < :createdBefore ORDER BY c.id")
+    List<Long> findIdsByProcessingStatus(ProcessingStatus status, LocalDateTime createdBefore, Pageable pageable);
+
+    long countByProcessingStatus(ProcessingStatus status);
+
+    @Query("SELECT c.userId FROM Content c WHERE c.id = :id")
+    Optional<Long> findUserIdById(Long id);
+
+    @Query("SELECT MIN(c.createdAt) FROM Content c WHERE c.processingStatus = :status")
+    LocalDateTime findOldestCreatedAtByProcessingStatus(ProcessingStatus status);
+
+    // Record the memory a content item was merged into, unless it was already merged
+    @Modifying
+    @Query("UPDATE Content c SET c.processingStatus = com.context.memorybook.common.enums.ProcessingStatus.COMPLETED, " +
+            "c.memoryId = :memoryId, c.extractedContext = :extractedContext, c.keywords = :keywords, " +
+            "c.processingError = NULL, c.processedAt = :processedAt, c.updatedAt = :processedAt, " +
+            "c.changeSeq = :changeSeq " +
+            "WHERE c.id = :id AND c.processingStatus <> com.context.memorybook.common.enums.ProcessingStatus.COMPLETED")
+    int markProcessed(Long id, Long memoryId, String extractedContext, String keywords, LocalDateTime processedAt,
+                      Long changeSeq);
+
+    @Modifying
+    @Query("UPDATE Content c SET c.processingStatus = com.context.memorybook.common.enums.ProcessingStatus.FAILED, " +
+            "c.processingError = :error, c.processedAt = :processedAt, c.updatedAt = :processedAt, " +
+            "c.changeSeq = :changeSeq " +
+            "WHERE c.id = :id AND c.processingStatus = com.context.memorybook.common.enums.ProcessingStatus.PENDING")
+    int markFailed(Long id, String error, LocalDateTime processedAt, Long changeSeq);
+}
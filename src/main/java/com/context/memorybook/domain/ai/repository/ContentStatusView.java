@@ -0,0 +1,16 @@
+package com.context.memorybook.domain.ai.repository;
+
+import com.context.memorybook.common.enums.ProcessingStatus;
+
+/**
+ * Processing state of a content item, without its text columns
+ */
+public interface ContentStatusView {
+    Long getId();
+
+    ProcessingStatus getProcessingStatus();
+
+    Long getMemoryId();
+
+    String getProcessingError();
+}
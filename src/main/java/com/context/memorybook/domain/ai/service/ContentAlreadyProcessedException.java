@@ -0,0 +1,10 @@
+package com.context.memorybook.domain.ai.service;
+
+/**
+ * Content was merged into a memory by another worker first; its merge was rolled back
+ */
+public class ContentAlreadyProcessedException extends IllegalStateException {
+    public ContentAlreadyProcessedException(String message) {
+        super(message);
+    }
+}
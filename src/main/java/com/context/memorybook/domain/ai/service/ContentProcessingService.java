@@ -0,0 +1,188 @@
+package com.context.memorybook.domain.ai.service;
+
+import com.context.memorybook.common.enums.ProcessingStatus;
+import com.context.memorybook.common.util.WorkerThreads;
+import com.context.memorybook.domain.ai.dto.ShareQueueStats;
+import com.context.memorybook.domain.ai.model.Content;
+import com.context.memorybook.domain.ai.model.TextAnalysis;
+import com.context.memorybook.domain.ai.repository.ContentRepository;
+import com.context.memorybook.domain.memory.service.MemoryService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background merging of shared content into memories.
+ * Content is persisted as PENDING before it is queued, so the contents table is the
+ * source of truth: anything not merged when the application stops, or that did not fit
+ * in the queue, is picked up again by the recovery sweep.
+ */
+@Service
+public class ContentProcessingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentProcessingService.class);
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private ContentService contentService;
+
+    @Autowired
+    private MemoryService memoryService;
+
+    @Autowired
+    private ContextExtractionService contextExtractionService;
+
+    @Value("${memorybook.share.async.workers:4}")
+    private int workers;
+
+    @Value("${memorybook.share.async.queue-capacity:1000}")
+    private int queueCapacity;
+
+    // Pending content younger than this may still be merged by a synchronous share
+    @Value("${memorybook.share.async.recovery-grace-ms:60000}")
+    private long recoveryGraceMs;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ThreadPoolExecutor executor;
+
+    // Content ids that are queued or being processed, or claimed by a share or import merging them itself
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    private volatile long lastProcessingLagMs;
+
+    @PostConstruct
+    public void start() {
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), WorkerThreads.factory("content-processing-", virtualThreads));
+    }
+
+    /**
+     * Queue persisted content for merging
+     * Returns false if the queue is full; the content stays PENDING and is recovered later
+     */
+    public boolean submit(Long contentId) {
+        if (!inFlight.add(contentId)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> process(contentId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(contentId);
+            return false;
+        }
+    }
+
+    /**
+     * Keep recovery away from freshly stored content that the caller merges itself,
+     * however long it waits for its turn; release it once the merge is over
+     */
+    public void claim(Long contentId) {
+        inFlight.add(contentId);
+    }
+
+    public void release(Long contentId) {
+        inFlight.remove(contentId);
+    }
+
+    /**
+     * Requeue everything left pending by a previous run
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        recover(LocalDateTime.now());
+    }
+
+    /**
+     * Requeue pending content that was rejected by a full queue or left behind by a failed share
+     */
+    @Scheduled(fixedDelayString = "${memorybook.share.async.recovery-interval-ms:30000}",
+            initialDelayString = "${memorybook.share.async.recovery-interval-ms:30000}")
+    public void recoverPending() {
+        recover(LocalDateTime.now().minus(Duration.ofMillis(recoveryGraceMs)));
+    }
+
+    public ShareQueueStats getStats() {
+        LocalDateTime oldestPending = contentRepository.findOldestCreatedAtByProcessingStatus(ProcessingStatus.PENDING);
+        long oldestPendingAgeMs = oldestPending != null
+                ? Math.max(0, Duration.between(oldestPending, LocalDateTime.now()).toMillis())
+                : 0;
+
+        return new ShareQueueStats(
+                executor.getQueue().size(),
+                queueCapacity,
+                inFlight.size(),
+                contentRepository.countByProcessingStatus(ProcessingStatus.PENDING),
+                oldestPendingAgeMs,
+                lastProcessingLagMs
+        );
+    }
+
+    private void recover(LocalDateTime createdBefore) {
+        int capacity = executor.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+
+        List<Long> pendingIds = contentRepository.findIdsByProcessingStatus(
+                ProcessingStatus.PENDING, createdBefore, PageRequest.of(0, capacity));
+        int queued = 0;
+        for (Long contentId : pendingIds) {
+            if (!inFlight.contains(contentId) && submit(contentId)) {
+                queued++;
+            }
+        }
+        if (queued > 0) {
+            log.info("Queued {} pending content items for memory merging", queued);
+        }
+    }
+
+    private void process(Long contentId) {
+        try {
+            Content content = contentRepository.findById(contentId).orElse(null);
+            if (content == null || content.getProcessingStatus() != ProcessingStatus.PENDING) {
+                return;
+            }
+
+            TextAnalysis analysis = contextExtractionService.analyze(
+                    content.getTitle(), content.getDescription(), content.getTextContent());
+            memoryService.createOrUpdateMemoryFromContent(content.getUserId(), content, analysis);
+            lastProcessingLagMs = Duration.between(content.getCreatedAt(), LocalDateTime.now()).toMillis();
+        } catch (ContentAlreadyProcessedException e) {
+            log.debug("Content {} was merged by another worker", contentId);
+        } catch (Exception e) {
+            log.warn("Failed to merge content {} into a memory", contentId, e);
+            contentService.markFailed(contentId, e.getMessage());
+        } finally {
+            inFlight.remove(contentId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Queued items are still PENDING in the database and are recovered on the next start
+        executor.shutdownNow();
+    }
+}
@@ -1,14 +1,30 @@
 package com.context.memorybook.domain.ai.service;
 
+import com.context.memorybook.common.dto.ChangeWatermark;
+import com.context.memorybook.common.dto.PageResponse;
 import com.context.memorybook.common.enums.ContentType;
+import com.context.memorybook.common.enums.ProcessingStatus;
+import com.context.memorybook.common.util.ETags;
+import com.context.memorybook.common.util.PageCursor;
+import com.context.memorybook.domain.ai.dto.ContentSummary;
 import com.context.memorybook.domain.ai.model.Content;
 import com.context.memorybook.domain.ai.repository.ContentRepository;
+import com.context.memorybook.domain.ai.repository.ContentStatusView;
+import com.context.memorybook.domain.sync.service.ChangeSequenceService;
+import com.context.memorybook.infrastructure.search.SearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Service
 public class ContentService {
@@ -16,11 +32,46 @@ public class ContentService {
     @Autowired
     private ContentRepository contentRepository;
 
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    @Value("${memorybook.pagination.max-page-size:100}")
+    private int maxPageSize;
+
     @Transactional
     public Content saveContent(Content content) {
         content.setCreatedAt(LocalDateTime.now());
         content.setUpdatedAt(LocalDateTime.now());
-        return contentRepository.save(content);
+        content.setChangeSeq(changeSequenceService.next(content.getUserId()));
+        Content savedContent = contentRepository.save(content);
+        searchIndex.onContentSaved(savedContent);
+        return savedContent;
+    }
+
+    /**
+     * Save new content rows in JDBC batches
+     */
+    @Transactional
+    public List<Content> saveContents(List<Content> contents) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Long> nextSeqByUser = new HashMap<>();
+        for (Content content : contents) {
+            nextSeqByUser.merge(content.getUserId(), 1L, Long::sum);
+        }
+        // Reserve one block of sequence numbers per user
+        nextSeqByUser.replaceAll((userId, count) ->
+                changeSequenceService.next(userId, count.intValue()) - count + 1);
+        for (Content content : contents) {
+            content.setCreatedAt(now);
+            content.setUpdatedAt(now);
+            content.setChangeSeq(nextSeqByUser.merge(content.getUserId(), 1L, Long::sum) - 1);
+        }
+        contentRepository.insertAll(contents);
+        contents.forEach(searchIndex::onContentSaved);
+        return contents;
     }
 
     @Transactional(readOnly = true)
@@ -28,14 +79,113 @@ public class ContentService {
         return contentRepository.findByUserId(userId);
     }
 
+    /**
+     * One page of the user's content, optionally of one type, most recently updated first
+     * Only summary columns are read unless heavy fields are requested
+     */
     @Transactional(readOnly = true)
-    public List<Content> getContentByUserAndType(Long userId, ContentType type) {
-        return contentRepository.findByUserIdAndType(userId, type);
+    public PageResponse<ContentSummary> getContentPage(Long userId, ContentType type, String cursor, int limit,
+                                                       Set<String> fields) {
+        int pageSize = pageSize(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<ContentSummary> rows;
+        if (type == null) {
+            rows = after == null
+                    ? contentRepository.findSummaries(userId, page)
+                    : contentRepository.findSummariesAfter(userId, after.getUpdatedAt(), after.getId(), page);
+        } else {
+            rows = after == null
+                    ? contentRepository.findSummariesByType(userId, type, page)
+                    : contentRepository.findSummariesByTypeAfter(userId, type, after.getUpdatedAt(), after.getId(), page);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            ContentSummary last = rows.get(pageSize - 1);
+            nextCursor = PageCursor.encode(last.getUpdatedAt(), last.getId());
+        }
+        fillFields(rows, fields);
+        return new PageResponse<>(rows, nextCursor);
     }
 
+    /**
+     * ETag of a page of the user's content: changes with any of their content or the page parameters
+     */
     @Transactional(readOnly = true)
-    public List<Content> searchContent(Long userId, String query) {
-        return contentRepository.searchContent(userId, query);
+    public String getContentPageETag(Long userId, ContentType type, String cursor, int limit, Set<String> fields) {
+        ChangeWatermark watermark = contentRepository.findWatermarkByUserId(userId);
+        return ETags.of("contents", watermark.getCount(), watermark.getUpdatedAt(),
+                type, cursor, pageSize(limit), fields == null ? null : new TreeSet<>(fields));
+    }
+
+    /**
+     * Full-text search over the user's content, best match first
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<ContentSummary> searchContent(Long userId, String query, String cursor, int limit,
+                                                      Set<String> fields) {
+        List<Long> ids = searchIndex.searchContents(userId, query);
+        int pageSize = pageSize(limit);
+        int from = Math.min(PageCursor.decodeOffset(cursor), ids.size());
+        int to = Math.min(from + pageSize, ids.size());
+
+        Map<Long, ContentSummary> summaries = new HashMap<>();
+        if (from < to) {
+            for (ContentSummary summary : contentRepository.findSummariesByIdIn(userId, ids.subList(from, to))) {
+                summaries.put(summary.getId(), summary);
+            }
+        }
+        List<ContentSummary> rows = new ArrayList<>(summaries.size());
+        for (Long id : ids.subList(from, to)) {
+            ContentSummary summary = summaries.get(id);
+            if (summary != null) {
+                rows.add(summary);
+            }
+        }
+        fillFields(rows, fields);
+        return new PageResponse<>(rows, to < ids.size() ? PageCursor.encodeOffset(to) : null);
+    }
+
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+    /**
+     * Load the requested heavy fields for a page of summaries
+     */
+    private void fillFields(List<ContentSummary> rows, Set<String> fields) {
+        if (fields == null || fields.isEmpty() || rows.isEmpty()) {
+            return;
+        }
+        for (String field : fields) {
+            if (!ContentSummary.OPTIONAL_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+        }
+
+        Map<Long, Content> contents = new HashMap<>();
+        contentRepository.findAllById(rows.stream().map(ContentSummary::getId).toList())
+                .forEach(content -> contents.put(content.getId(), content));
+        for (ContentSummary row : rows) {
+            Content content = contents.get(row.getId());
+            if (content == null) {
+                continue;
+            }
+            if (fields.contains("description")) {
+                row.setDescription(content.getDescription());
+            }
+            if (fields.contains("textContent")) {
+                row.setTextContent(content.getTextContent());
+            }
+            if (fields.contains("keywords")) {
+                row.setKeywords(content.getKeywords());
+            }
+            if (fields.contains("source")) {
+                row.setSource(content.getSource());
+            }
+        }
     }
 
     @Transactional(readOnly = true)
@@ -43,5 +193,38 @@ public class ContentService {
         return contentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Content not found"));
     }
+
+    @Transactional(readOnly = true)
+    public ContentStatusView getContentStatus(Long id, Long userId) {
+        return contentRepository.findStatusByIdAndUserId(id, userId)
+                .orElseThrow(() -> new RuntimeException("Content not found"));
+    }
+
+    /**
+     * Record that content was merged into a memory
+     * Returns false if it had already been merged by someone else
+     */
+    @Transactional
+    public boolean markProcessed(Content content, Long memoryId) {
+        int updated = contentRepository.markProcessed(content.getId(), memoryId,
+                content.getExtractedContext(), content.getKeywords(), LocalDateTime.now(),
+                changeSequenceService.next(content.getUserId()));
+        content.setProcessingStatus(ProcessingStatus.COMPLETED);
+        content.setMemoryId(memoryId);
+        if (updated > 0) {
+            // Content shared asynchronously only gets its extracted context here
+            searchIndex.onContentSaved(content);
+        }
+        return updated > 0;
+    }
+
+    /**
+     * Record that merging content into a memory failed
+     */
+    @Transactional
+    public void markFailed(Long contentId, String error) {
+        contentRepository.findUserIdById(contentId).ifPresent(userId -> contentRepository.markFailed(
+                contentId, error, LocalDateTime.now(), changeSequenceService.next(userId)));
+    }
 }
 
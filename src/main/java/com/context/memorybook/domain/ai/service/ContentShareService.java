@@ -0,0 +1,324 @@
+package com.context.memorybook.domain.ai.service;
+
+import com.context.memorybook.domain.ai.dto.ShareContentRequest;
+import com.context.memorybook.domain.ai.dto.ShareContentResponse;
+import com.context.memorybook.domain.ai.model.Content;
+import com.context.memorybook.domain.ai.model.TextAnalysis;
+import com.context.memorybook.domain.memory.dto.MemoryMergeResult;
+import com.context.memorybook.domain.memory.model.Memory;
+import com.context.memorybook.domain.memory.service.MemorySegmentService;
+import com.context.memorybook.domain.memory.service.MemoryService;
+import com.context.memorybook.infrastructure.metrics.PipelineMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+
+/**
+ * Share pipeline: analyse content, store it and merge it into the user's memories
+ */
+@Service
+public class ContentShareService {
+
+    // Length of the contents.title column
+    private static final int MAX_TITLE_LENGTH = 255;
+
+    @Autowired
+    private ContentService contentService;
+
+    @Autowired
+    private MemoryService memoryService;
+
+    @Autowired
+    private MemorySegmentService memorySegmentService;
+
+    @Autowired
+    private ContextExtractionService contextExtractionService;
+
+    @Autowired
+    private ContentProcessingService contentProcessingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PipelineMetrics pipelineMetrics;
+
+    // Extraction is CPU bound, so batch items are analysed on one thread per core
+    private final ExecutorService analysisExecutor = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), new CustomizableThreadFactory("content-analysis-"));
+
+    /**
+     * Share a single content item
+     * The full memory body is only assembled for the response when includeContent is set
+     */
+    public ShareContentResponse share(Long userId, ShareContentRequest request, boolean includeContent) {
+        TextAnalysis analysis = analyze(request);
+        Content savedContent = pipelineMetrics.time(PipelineMetrics.INSERT,
+                () -> contentService.saveContent(toContent(userId, request, analysis)));
+
+        // Use smart memory service to create or update memory
+        // This will automatically find similar memories and update or create new one
+        MemoryMergeResult result;
+        contentProcessingService.claim(savedContent.getId());
+        try {
+            result = memoryService.createOrUpdateMemoryFromContent(userId, savedContent, analysis);
+        } catch (ContentAlreadyProcessedException e) {
+            result = mergedElsewhere(userId, savedContent);
+        } catch (RuntimeException e) {
+            contentService.markFailed(savedContent.getId(), e.getMessage());
+            throw e;
+        } finally {
+            contentProcessingService.release(savedContent.getId());
+        }
+        return toResponse(savedContent, analysis, result, includeContent);
+    }
+
+    /**
+     * Store a content item and merge it into memories in the background
+     * Extraction happens on the worker, so only the raw content is stored here
+     */
+    public Content shareAsync(Long userId, ShareContentRequest request) {
+        String validationError = validate(request);
+        if (validationError != null) {
+            throw new IllegalArgumentException(validationError);
+        }
+
+        Content savedContent = contentService.saveContent(toContent(userId, request));
+        contentProcessingService.submit(savedContent.getId());
+        return savedContent;
+    }
+
+    /**
+     * Share several content items at once
+     * Items are analysed in parallel and stored in JDBC batches, then merged into memories
+     * in request order so that items of the same batch can end up in the same memory.
+     * Returns one response per item; failed items carry an error instead of a memory.
+     * Full memory bodies are only assembled for the responses when includeContent is set.
+     */
+    public List<ShareContentResponse> shareBatch(Long userId, List<ShareContentRequest> requests,
+                                                 boolean includeContent) {
+        List<ShareContentResponse> responses = new ArrayList<>(requests.size());
+        List<CompletableFuture<TextAnalysis>> analyses = new ArrayList<>(requests.size());
+
+        for (ShareContentRequest request : requests) {
+            String validationError = validate(request);
+            responses.add(validationError != null ? error(validationError) : null);
+            analyses.add(validationError != null ? null
+                    : CompletableFuture.supplyAsync(() -> analyze(request), analysisExecutor));
+        }
+
+        List<Content> contents = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        List<TextAnalysis> contentAnalyses = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (analyses.get(i) == null) {
+                continue;
+            }
+            try {
+                TextAnalysis analysis = analyses.get(i).join();
+                contents.add(toContent(userId, requests.get(i), analysis));
+                contentAnalyses.add(analysis);
+                positions.add(i);
+            } catch (Exception e) {
+                responses.set(i, error("Failed to process content: " + e.getMessage()));
+            }
+        }
+
+        try {
+            pipelineMetrics.time(PipelineMetrics.BATCH_INSERT, () -> contentService.saveContents(contents));
+        } catch (Exception e) {
+            for (Integer position : positions) {
+                responses.set(position, error("Failed to save content: " + e.getMessage()));
+            }
+            return responses;
+        }
+
+        claim(contents);
+        try {
+            for (int i = 0; i < contents.size(); i++) {
+                Content content = contents.get(i);
+                TextAnalysis analysis = contentAnalyses.get(i);
+                try {
+                    MemoryMergeResult result;
+                    try {
+                        result = memoryService.createOrUpdateMemoryFromContent(userId, content, analysis);
+                    } catch (ContentAlreadyProcessedException e) {
+                        result = mergedElsewhere(userId, content);
+                    }
+                    responses.set(positions.get(i), toResponse(content, analysis, result, includeContent));
+                } catch (Exception e) {
+                    contentService.markFailed(content.getId(), e.getMessage());
+                    ShareContentResponse response = error("Failed to process content: " + e.getMessage());
+                    response.setContentId(content.getId());
+                    responses.set(positions.get(i), response);
+                }
+            }
+        } finally {
+            release(contents);
+        }
+        return responses;
+    }
+
+    /**
+     * Import a chunk of content items from a file
+     * Items are analysed in parallel and stored in JDBC batches in the same transaction as
+     * checkpoint, which receives the number of rejected items. They are then merged into memories;
+     * anything stored but not merged (e.g. after a crash) stays PENDING and is recovered by
+     * the background merging. Returns the number of items that failed to merge.
+     */
+    public int importChunk(Long userId, List<ShareContentRequest> requests, IntConsumer checkpoint) {
+        List<CompletableFuture<TextAnalysis>> analyses = new ArrayList<>(requests.size());
+        for (ShareContentRequest request : requests) {
+            if (validate(request) != null) {
+                analyses.add(null);
+                continue;
+            }
+            if (request.getTitle().length() > MAX_TITLE_LENGTH) {
+                request.setTitle(request.getTitle().substring(0, MAX_TITLE_LENGTH));
+            }
+            analyses.add(CompletableFuture.supplyAsync(() -> analyze(request), analysisExecutor));
+        }
+
+        List<Content> contents = new ArrayList<>();
+        List<TextAnalysis> contentAnalyses = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (analyses.get(i) == null) {
+                continue;
+            }
+            try {
+                TextAnalysis analysis = analyses.get(i).join();
+                contents.add(toContent(userId, requests.get(i), analysis));
+                contentAnalyses.add(analysis);
+            } catch (Exception e) {
+                // Counted as rejected below
+            }
+        }
+
+        int rejected = requests.size() - contents.size();
+        pipelineMetrics.time(PipelineMetrics.BATCH_INSERT, () -> transactionTemplate.execute(status -> {
+            contentService.saveContents(contents);
+            checkpoint.accept(rejected);
+            return null;
+        }));
+
+        // Items wait for their turn while earlier ones merge, possibly past the recovery grace period
+        int failed = 0;
+        claim(contents);
+        try {
+            for (int i = 0; i < contents.size(); i++) {
+                try {
+                    memoryService.createOrUpdateMemoryFromContent(userId, contents.get(i), contentAnalyses.get(i));
+                } catch (ContentAlreadyProcessedException e) {
+                    // Merged by another worker, which is all the import needs
+                } catch (Exception e) {
+                    contentService.markFailed(contents.get(i).getId(), e.getMessage());
+                    failed++;
+                }
+            }
+        } finally {
+            release(contents);
+        }
+        return failed;
+    }
+
+    private void claim(List<Content> contents) {
+        contents.forEach(content -> contentProcessingService.claim(content.getId()));
+    }
+
+    private void release(List<Content> contents) {
+        contents.forEach(content -> contentProcessingService.release(content.getId()));
+    }
+
+    private TextAnalysis analyze(ShareContentRequest request) {
+        return pipelineMetrics.time(PipelineMetrics.EXTRACTION, () -> contextExtractionService.analyze(
+                request.getTitle(),
+                request.getDescription(),
+                request.getTextContent()
+        ));
+    }
+
+    private Content toContent(Long userId, ShareContentRequest request, TextAnalysis analysis) {
+        Content content = toContent(userId, request);
+        content.setExtractedContext(analysis.getContext());
+        content.setKeywords(String.join(", ", analysis.getKeywords()));
+        return content;
+    }
+
+    private Content toContent(Long userId, ShareContentRequest request) {
+        Content content = new Content();
+        content.setUserId(userId);
+        content.setType(request.getType());
+        content.setTitle(request.getTitle());
+        content.setDescription(request.getDescription());
+        content.setTextContent(request.getTextContent());
+        content.setUrl(request.getUrl());
+        content.setSource(request.getSource());
+        return content;
+    }
+
+    private ShareContentResponse toResponse(Content savedContent, TextAnalysis analysis,
+                                            MemoryMergeResult result, boolean includeContent) {
+        Memory memory = result.getMemory();
+        if (!result.isCreated() && includeContent) {
+            // Merges only append a segment, so reading the whole body back is opt-in
+            memory.setContent(memorySegmentService.assemble(memory.getId()));
+        }
+
+        ShareContentResponse response = new ShareContentResponse();
+        response.setContentId(savedContent.getId());
+        response.setAppendedContent(analysis.getBody());
+        response.setMemory(memory);
+        response.setNewMemory(result.isCreated());
+        response.setExtractedContext(savedContent.getExtractedContext());
+        response.setSuggestions(memory.getSuggestions());
+        response.setSummary(memory.getSummary());
+        return response;
+    }
+
+    /**
+     * Memory that another worker merged the content into first, e.g. the recovery sweep of another instance
+     */
+    private MemoryMergeResult mergedElsewhere(Long userId, Content content) {
+        Long memoryId = contentService.getContentStatus(content.getId(), userId).getMemoryId();
+        Memory memory = memoryId != null ? memoryService.getMemory(memoryId, userId) : null;
+        if (memory == null) {
+            throw new IllegalStateException("Content " + content.getId() + " was merged into a memory that no longer exists");
+        }
+        // Like any merge, the full body is only assembled on request
+        memory.setContent(null);
+        return new MemoryMergeResult(memory, false);
+    }
+
+    private String validate(ShareContentRequest request) {
+        if (request == null) {
+            return "Content is required";
+        }
+        if (request.getType() == null) {
+            return "Content type is required";
+        }
+        if (request.getTitle() == null || request.getTitle().trim().isEmpty()) {
+            return "Title is required";
+        }
+        return null;
+    }
+
+    private ShareContentResponse error(String message) {
+        ShareContentResponse response = new ShareContentResponse();
+        response.setError(message);
+        return response;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        analysisExecutor.shutdown();
+    }
+}
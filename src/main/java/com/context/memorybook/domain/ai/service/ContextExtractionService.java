@@ -1,9 +1,9 @@
 package com.context.memorybook.domain.ai.service;
 
+import com.context.memorybook.domain.ai.model.TextAnalysis;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class ContextExtractionService {
@@ -16,55 +16,102 @@ public class ContextExtractionService {
             "or", "an", "will", "my", "one", "all", "would", "there", "their", "is"
     );
 
+    private static final int KEYWORD_LIMIT = 15;
+    private static final int CONTEXT_KEYWORD_LIMIT = 10;
+    private static final String DEFAULT_CONTEXT = "General content";
+
+    // Words shorter than 4 characters are never keywords
+    private static final KeywordTokenizer TOKENIZER = new KeywordTokenizer(4, STOP_WORDS);
+
+    /**
+     * Analyse shared content in a single tokenization pass
+     * The result carries everything the share pipeline needs (keywords, context, sentences)
+     */
+    public TextAnalysis analyze(String title, String description, String textContent) {
+        Map<String, Integer> termFrequencies = TOKENIZER.newCounter()
+                .add(title)
+                .add(description)
+                .add(textContent)
+                .toMap();
+        List<String> keywords = topKeywords(termFrequencies, KEYWORD_LIMIT);
+
+        // Keywords are ordered, so the context keywords are a prefix of the stored keywords
+        List<String> contextKeywords = keywords.subList(0, Math.min(CONTEXT_KEYWORD_LIMIT, keywords.size()));
+        String context = String.join(", ", contextKeywords);
+        if (context.isEmpty()) {
+            context = DEFAULT_CONTEXT;
+            contextKeywords = extractKeywords(DEFAULT_CONTEXT);
+        }
+
+        String body = title + "\n" +
+                (description != null ? description : "") + "\n" +
+                (textContent != null ? textContent : "");
+
+        return new TextAnalysis(termFrequencies, keywords, context, contextKeywords, body, splitSentences(body));
+    }
+
     /**
      * Extract context from content text
      * This is a simple implementation - can be enhanced with AI/NLP services
      */
     public String extractContext(String title, String description, String textContent) {
-        StringBuilder fullText = new StringBuilder();
-        if (title != null) fullText.append(title).append(" ");
-        if (description != null) fullText.append(description).append(" ");
-        if (textContent != null) fullText.append(textContent).append(" ");
-
-        String text = fullText.toString().toLowerCase();
-        
-        // Extract context by identifying key phrases and topics
-        // Simple keyword extraction and context summarization
-        List<String> keywords = extractKeywords(text);
-        String context = keywords.stream()
-                .limit(10)
-                .collect(Collectors.joining(", "));
-        
-        return context.isEmpty() ? "General content" : context;
+        Map<String, Integer> termFrequencies = TOKENIZER.newCounter()
+                .add(title)
+                .add(description)
+                .add(textContent)
+                .toMap();
+        String context = String.join(", ", topKeywords(termFrequencies, CONTEXT_KEYWORD_LIMIT));
+
+        return context.isEmpty() ? DEFAULT_CONTEXT : context;
     }
 
     /**
      * Extract keywords from text
      */
     public List<String> extractKeywords(String text) {
+        return extractKeywords(text, KEYWORD_LIMIT);
+    }
+
+    /**
+     * Extract at most limit keywords from text
+     */
+    public List<String> extractKeywords(String text, int limit) {
         if (text == null || text.trim().isEmpty()) {
             return new ArrayList<>();
         }
 
-        // Clean and tokenize
-        String cleaned = text.replaceAll("[^a-zA-Z0-9\\s]", " ");
-        String[] words = cleaned.toLowerCase().split("\\s+");
+        return topKeywords(TOKENIZER.countTerms(text), limit);
+    }
+
+    /**
+     * Select the most frequent terms with a bounded min-heap instead of sorting every term
+     * Ties are broken alphabetically so the result does not depend on map iteration order
+     */
+    private List<String> topKeywords(Map<String, Integer> wordFreq, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
 
-        // Count word frequencies
-        Map<String, Integer> wordFreq = new HashMap<>();
-        for (String word : words) {
-            word = word.trim();
-            if (word.length() > 3 && !STOP_WORDS.contains(word)) {
-                wordFreq.put(word, wordFreq.getOrDefault(word, 0) + 1);
+        // Head of the heap is the weakest keyword kept so far
+        Comparator<Map.Entry<String, Integer>> weakestFirst = Map.Entry.<String, Integer>comparingByValue()
+                .thenComparing(Map.Entry.<String, Integer>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<String, Integer>> heap = new PriorityQueue<>(Math.min(limit, Math.max(1, wordFreq.size())), weakestFirst);
+
+        for (Map.Entry<String, Integer> entry : wordFreq.entrySet()) {
+            if (heap.size() < limit) {
+                heap.offer(entry);
+            } else if (weakestFirst.compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(entry);
             }
         }
 
-        // Sort by frequency and return top keywords
-        return wordFreq.entrySet().stream()
-                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
-                .map(Map.Entry::getKey)
-                .limit(15)
-                .collect(Collectors.toList());
+        List<String> keywords = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            keywords.add(heap.poll().getKey());
+        }
+        Collections.reverse(keywords);
+        return keywords;
     }
 
     /**
@@ -76,17 +123,17 @@ public class ContextExtractionService {
             return 0.0;
         }
 
-        List<String> keywords1 = extractKeywords(context1);
-        List<String> keywords2 = extractKeywords(context2);
+        return calculateSimilarity(new HashSet<>(extractKeywords(context1)), new HashSet<>(extractKeywords(context2)));
+    }
 
-        if (keywords1.isEmpty() || keywords2.isEmpty()) {
+    /**
+     * Calculate Jaccard similarity between two already extracted keyword sets
+     */
+    public double calculateSimilarity(Set<String> set1, Set<String> set2) {
+        if (set1.isEmpty() || set2.isEmpty()) {
             return 0.0;
         }
 
-        // Calculate Jaccard similarity
-        Set<String> set1 = new HashSet<>(keywords1);
-        Set<String> set2 = new HashSet<>(keywords2);
-
         Set<String> intersection = new HashSet<>(set1);
         intersection.retainAll(set2);
 
@@ -105,10 +152,24 @@ public class ContextExtractionService {
             return "";
         }
 
+        return generateSummary(splitSentences(textContent), textContent, maxLength);
+    }
+
+    /**
+     * Generate a summary from an already analysed content body
+     */
+    public String generateSummary(TextAnalysis analysis, int maxLength) {
+        if (analysis.getBody().trim().isEmpty()) {
+            return "";
+        }
+
+        return generateSummary(analysis.getSentences(), analysis.getBody(), maxLength);
+    }
+
+    private String generateSummary(List<String> sentences, String textContent, int maxLength) {
         // Simple summary: take first few sentences
-        String[] sentences = textContent.split("[.!?]+");
         StringBuilder summary = new StringBuilder();
-        
+
         for (String sentence : sentences) {
             sentence = sentence.trim();
             if (sentence.length() > 10) {
@@ -128,5 +189,8 @@ public class ContextExtractionService {
 
         return summary.toString().isEmpty() ? textContent.substring(0, Math.min(maxLength, textContent.length())) : summary.toString();
     }
-}
 
+    private List<String> splitSentences(String text) {
+        return Arrays.asList(text.split("[.!?]+"));
+    }
+}
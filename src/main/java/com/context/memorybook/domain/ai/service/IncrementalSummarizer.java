@@ -0,0 +1,120 @@
+package com.context.memorybook.domain.ai.service;
+
+import com.context.memorybook.domain.memory.model.SummaryState;
+
+/**
+ * Incremental form of ContextExtractionService.generateSummary.
+ * The summary takes the first sentences of a text until one does not fit, so appending
+ * text can only extend the selection while it is still open. The state keeps the selected
+ * sentences, the unterminated last sentence and the text head used as fallback, which lets
+ * a merge update the summary from the new content alone.
+ */
+public final class IncrementalSummarizer {
+
+    private static final int MIN_SENTENCE_LENGTH = 10;
+
+    private IncrementalSummarizer() {
+    }
+
+    /**
+     * State of an empty text
+     */
+    public static SummaryState empty() {
+        return new SummaryState("", "", "", false, true);
+    }
+
+    /**
+     * State after appending text to the summarized text, joined with the separator unless the text was empty
+     */
+    public static SummaryState append(SummaryState state, String separator, String text, int maxLength) {
+        String head = state.getSummaryHead();
+        String added = head.isEmpty() ? text : separator + text;
+
+        if (head.length() < maxLength) {
+            head = head + added.substring(0, Math.min(added.length(), maxLength - head.length()));
+        }
+        boolean blank = state.getSummaryBlank() && isBlank(added);
+
+        if (state.getSummaryClosed()) {
+            return new SummaryState(state.getSummarySelected(), "", head, true, blank);
+        }
+
+        // Only the open tail and the new text need to be split, everything before is already decided
+        String region = state.getSummaryTail() + added;
+        StringBuilder selected = new StringBuilder(state.getSummarySelected());
+        int start = 0;
+        int i = 0;
+        while (i < region.length()) {
+            if (!isTerminator(region.charAt(i))) {
+                i++;
+                continue;
+            }
+            if (!select(selected, region.substring(start, i), maxLength)) {
+                return new SummaryState(selected.toString(), "", head, true, blank);
+            }
+            while (i < region.length() && isTerminator(region.charAt(i))) {
+                i++;
+            }
+            start = i;
+        }
+
+        // The tail only grows with later text, so once it does not fit it never will
+        String tail = region.substring(start);
+        String sentence = tail.trim();
+        if (sentence.length() > MIN_SENTENCE_LENGTH && selected.length() + sentence.length() > maxLength) {
+            return new SummaryState(selected.toString(), "", head, true, blank);
+        }
+        return new SummaryState(selected.toString(), tail, head, false, blank);
+    }
+
+    /**
+     * Summary of the text the state was built from, same result as generateSummary(text, maxLength)
+     */
+    public static String summary(SummaryState state, int maxLength) {
+        if (state.getSummaryBlank()) {
+            return "";
+        }
+
+        StringBuilder summary = new StringBuilder(state.getSummarySelected());
+        if (!state.getSummaryClosed()) {
+            select(summary, state.getSummaryTail(), maxLength);
+        }
+
+        if (summary.length() > maxLength) {
+            return summary.substring(0, maxLength - 3) + "...";
+        }
+
+        return summary.isEmpty() ? state.getSummaryHead() : summary.toString();
+    }
+
+    /**
+     * Add a sentence to the selection; false if it qualifies but does not fit
+     */
+    private static boolean select(StringBuilder selected, String sentence, int maxLength) {
+        sentence = sentence.trim();
+        if (sentence.length() > MIN_SENTENCE_LENGTH) {
+            if (selected.length() + sentence.length() > maxLength) {
+                return false;
+            }
+            if (selected.length() > 0) {
+                selected.append(". ");
+            }
+            selected.append(sentence);
+        }
+        return true;
+    }
+
+    private static boolean isTerminator(char c) {
+        return c == '.' || c == '!' || c == '?';
+    }
+
+    // Same notion of blank as String.trim()
+    private static boolean isBlank(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,189 @@
+package com.context.memorybook.domain.ai.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Character scanning tokenizer used for keyword extraction.
+ * Produces the same terms as replacing non alphanumerics with spaces, lower casing and
+ * splitting on whitespace, but lower cases each token into a reusable buffer and hashes it
+ * while scanning. Short words, stop words and repeated words never allocate a String;
+ * only the first occurrence of each kept term does.
+ */
+public final class KeywordTokenizer {
+
+    private final int minLength;
+    private final char[][] stopWords;
+    private final int[] stopWordHashes;
+
+    /**
+     * @param minLength shortest token that is kept
+     * @param stopWords lower case words that are never kept
+     */
+    public KeywordTokenizer(int minLength, Set<String> stopWords) {
+        this.minLength = minLength;
+        this.stopWords = stopWords.stream()
+                .filter(word -> word.length() >= minLength)
+                .map(String::toCharArray)
+                .toArray(char[][]::new);
+        this.stopWordHashes = new int[this.stopWords.length];
+        for (int i = 0; i < this.stopWords.length; i++) {
+            this.stopWordHashes[i] = hash(this.stopWords[i], this.stopWords[i].length);
+        }
+    }
+
+    /**
+     * Count the kept terms of a text
+     */
+    public Map<String, Integer> countTerms(CharSequence text) {
+        Counter counter = newCounter();
+        counter.add(text);
+        return counter.toMap();
+    }
+
+    /**
+     * Start counting terms over one or more pieces of text.
+     * Each piece is tokenized as if it were separated from the previous one by whitespace.
+     */
+    public Counter newCounter() {
+        return new Counter();
+    }
+
+    private boolean isStopWord(char[] buffer, int length, int hash) {
+        for (int i = 0; i < stopWords.length; i++) {
+            if (stopWordHashes[i] == hash && equals(stopWords[i], buffer, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int hash(char[] buffer, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + buffer[i];
+        }
+        return h;
+    }
+
+    private static boolean equals(char[] word, char[] buffer, int length) {
+        if (word.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (word[i] != buffer[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Open addressing term -> count table filled by scanning text
+     */
+    public final class Counter {
+        private char[] buffer = new char[32];
+        private int[] hashes = new int[64];
+        private String[] terms = new String[64];
+        private int[] counts = new int[64];
+        private int size;
+
+        public Counter add(CharSequence text) {
+            if (text == null) {
+                return this;
+            }
+
+            int length = 0;
+            int hash = 0;
+            for (int i = 0, n = text.length(); i <= n; i++) {
+                char c = i < n ? text.charAt(i) : ' ';
+                if (c >= 'A' && c <= 'Z') {
+                    c = (char) (c + ('a' - 'A'));
+                }
+                if (!(c >= 'a' && c <= 'z' || c >= '0' && c <= '9')) {
+                    // End of token: keep it unless it is too short or a stop word
+                    if (length >= minLength && !isStopWord(buffer, length, hash)) {
+                        increment(hash, length);
+                    }
+                    length = 0;
+                    hash = 0;
+                    continue;
+                }
+
+                if (length == buffer.length) {
+                    char[] grown = new char[buffer.length * 2];
+                    System.arraycopy(buffer, 0, grown, 0, length);
+                    buffer = grown;
+                }
+                buffer[length++] = c;
+                hash = 31 * hash + c;
+            }
+            return this;
+        }
+
+        public Map<String, Integer> toMap() {
+            Map<String, Integer> termCounts = new HashMap<>(size * 2);
+            for (int i = 0; i < terms.length; i++) {
+                if (terms[i] != null) {
+                    termCounts.put(terms[i], counts[i]);
+                }
+            }
+            return termCounts;
+        }
+
+        private void increment(int hash, int length) {
+            int mask = terms.length - 1;
+            int slot = spread(hash) & mask;
+            while (terms[slot] != null) {
+                if (hashes[slot] == hash && terms[slot].length() == length && matches(terms[slot], length)) {
+                    counts[slot]++;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            hashes[slot] = hash;
+            terms[slot] = new String(buffer, 0, length);
+            counts[slot] = 1;
+            if (++size * 2 > terms.length) {
+                resize();
+            }
+        }
+
+        private boolean matches(String term, int length) {
+            for (int i = 0; i < length; i++) {
+                if (term.charAt(i) != buffer[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void resize() {
+            int[] oldHashes = hashes;
+            String[] oldTerms = terms;
+            int[] oldCounts = counts;
+            hashes = new int[oldTerms.length * 2];
+            terms = new String[oldTerms.length * 2];
+            counts = new int[oldTerms.length * 2];
+
+            int mask = terms.length - 1;
+            for (int i = 0; i < oldTerms.length; i++) {
+                if (oldTerms[i] != null) {
+                    int slot = spread(oldHashes[i]) & mask;
+                    while (terms[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    hashes[slot] = oldHashes[i];
+                    terms[slot] = oldTerms[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+
+        private int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
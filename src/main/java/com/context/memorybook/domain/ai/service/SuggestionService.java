@@ -1,6 +1,8 @@
 package com.context.memorybook.domain.ai.service;
 
 import com.context.memorybook.domain.memory.model.Memory;
+import com.context.memorybook.domain.memory.model.SummaryState;
+import com.context.memorybook.domain.memory.service.MemorySegmentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -9,6 +11,9 @@ import java.util.List;
 @Service
 public class SuggestionService {
 
+    public static final int MAX_RELATED_TITLES = 3; // Related titles shown in suggestions
+    public static final int SUMMARY_MAX_LENGTH = 200;
+
     @Autowired
     private ContextExtractionService contextExtractionService;
 
@@ -27,7 +32,7 @@ public class SuggestionService {
         if (relatedContentTitles != null && !relatedContentTitles.isEmpty()) {
             suggestions.append("Related content you've shared: ");
             relatedContentTitles.stream()
-                    .limit(3)
+                    .limit(MAX_RELATED_TITLES)
                     .forEach(title -> suggestions.append("'").append(title).append("', "));
             
             // Remove last comma and space
@@ -48,15 +53,26 @@ public class SuggestionService {
     }
 
     /**
-     * Generate or update summary for a memory
+     * Update the summary of a memory with new content
+     * Only the new content is processed; the memory's summary state is advanced past it
      */
     public String generateSummary(Memory memory, String newContent) {
-        String existingContent = memory.getContent() != null ? memory.getContent() : "";
-        String combinedContent = existingContent.isEmpty() ? newContent 
-                : existingContent + "\n\n" + newContent;
-        
-        // Generate summary from combined content
-        return contextExtractionService.generateSummary(combinedContent, 200);
+        SummaryState state = memory.getSummaryState();
+
+        // Same result as summarizing the existing body followed by the new content
+        String summary = IncrementalSummarizer.summary(
+                IncrementalSummarizer.append(state, "\n\n", newContent, SUMMARY_MAX_LENGTH), SUMMARY_MAX_LENGTH);
+        memory.setSummaryState(IncrementalSummarizer.append(
+                state, MemorySegmentService.SEPARATOR, newContent, SUMMARY_MAX_LENGTH));
+        return summary;
+    }
+
+    /**
+     * Summary state of a memory body
+     */
+    public SummaryState summaryStateOf(String body) {
+        return IncrementalSummarizer.append(IncrementalSummarizer.empty(), MemorySegmentService.SEPARATOR,
+                body != null ? body : "", SUMMARY_MAX_LENGTH);
     }
 }
 
@@ -0,0 +1,84 @@
+package com.context.memorybook.domain.export.controller;
+
+import com.context.memorybook.domain.export.service.ExportService;
+import com.context.memorybook.domain.user.model.User;
+import com.context.memorybook.infrastructure.security.UserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    @Autowired
+    private ExportService exportService;
+
+    // Large libraries take longer to stream than the default async request timeout allows
+    @Value("${memorybook.export.timeout-ms:3600000}")
+    private long timeoutMs;
+
+    /**
+     * Download the authenticated user's whole memory book as NDJSON (gzip=true to compress)
+     * The response is written while the rows are read, so it starts immediately and is not buffered
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "false") boolean gzip,
+            Authentication authentication,
+            HttpServletRequest request) {
+        // The body is written on another thread, so resolve the user now
+        Long userId = getUserIdFromAuthentication(authentication);
+        // Replaces the default timeout for this response only; other async endpoints keep it
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(timeoutMs);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                exportService.export(userId, compressed);
+                compressed.finish();
+            } else {
+                exportService.export(userId, out);
+            }
+        };
+
+        String filename = gzip ? "memorybook-export.ndjson.gz" : "memorybook-export.ndjson";
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    private Long getUserIdFromAuthentication(Authentication authentication) {
+        if (authentication == null || authentication.getPrincipal() == null) {
+            throw new SecurityException("User not authenticated");
+        }
+
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        UserPrincipal userPrincipal = (UserPrincipal) userDetails;
+
+        User user = userPrincipal.getUser();
+
+        if (user == null) {
+            throw new SecurityException("User not found");
+        }
+
+        return user.getId();
+    }
+}
@@ -0,0 +1,36 @@
+package com.context.memorybook.domain.export.dto;
+
+import com.context.memorybook.common.enums.ContentType;
+import com.context.memorybook.common.enums.ProcessingStatus;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Export line of a shared content item
+ */
+@Getter
+@AllArgsConstructor
+@JsonPropertyOrder({"record", "id", "type", "title", "description", "textContent", "url", "source",
+        "extractedContext", "keywords", "processingStatus", "memoryId", "createdAt", "updatedAt"})
+public class ContentExport {
+    private final Long id;
+    private final ContentType type;
+    private final String title;
+    private final String description;
+    private final String textContent;
+    private final String url;
+    private final String source;
+    private final String extractedContext;
+    private final String keywords;
+    private final ProcessingStatus processingStatus;
+    private final Long memoryId;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public String getRecord() {
+        return "content";
+    }
+}
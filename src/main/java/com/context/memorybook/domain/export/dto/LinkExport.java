@@ -0,0 +1,23 @@
+package com.context.memorybook.domain.export.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Export line of content merged into a memory
+ */
+@Getter
+@AllArgsConstructor
+@JsonPropertyOrder({"record", "memoryId", "contentId", "linkedAt"})
+public class LinkExport {
+    private final Long memoryId;
+    private final Long contentId;
+    private final LocalDateTime linkedAt;
+
+    public String getRecord() {
+        return "link";
+    }
+}
@@ -0,0 +1,31 @@
+package com.context.memorybook.domain.export.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Export line of a memory, without its body (segments) or tags
+ */
+@Getter
+@AllArgsConstructor
+@JsonPropertyOrder({"record", "id", "type", "context", "summary", "suggestions", "keywords", "relevanceScore",
+        "createdAt", "updatedAt", "lastRelatedContentAt"})
+public class MemoryExport {
+    private final Long id;
+    private final String type;
+    private final String context;
+    private final String summary;
+    private final String suggestions;
+    private final String keywords;
+    private final Integer relevanceScore;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final LocalDateTime lastRelatedContentAt;
+
+    public String getRecord() {
+        return "memory";
+    }
+}
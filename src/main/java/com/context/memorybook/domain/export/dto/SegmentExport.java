@@ -0,0 +1,24 @@
+package com.context.memorybook.domain.export.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Export line of a piece of a memory's body
+ */
+@Getter
+@AllArgsConstructor
+@JsonPropertyOrder({"record", "memoryId", "contentId", "body", "createdAt"})
+public class SegmentExport {
+    private final Long memoryId;
+    private final Long contentId;
+    private final String body;
+    private final LocalDateTime createdAt;
+
+    public String getRecord() {
+        return "segment";
+    }
+}
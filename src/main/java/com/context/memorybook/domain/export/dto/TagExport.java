@@ -0,0 +1,20 @@
+package com.context.memorybook.domain.export.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Export line of a tag on a memory
+ */
+@Getter
+@AllArgsConstructor
+@JsonPropertyOrder({"record", "memoryId", "name"})
+public class TagExport {
+    private final Long memoryId;
+    private final String name;
+
+    public String getRecord() {
+        return "tag";
+    }
+}
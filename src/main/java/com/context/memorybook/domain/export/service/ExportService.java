@@ -0,0 +1,90 @@
+package com.context.memorybook.domain.export.service;
+
+import com.context.memorybook.domain.ai.repository.ContentRepository;
+import com.context.memorybook.domain.memory.repository.MemoryContentRepository;
+import com.context.memorybook.domain.memory.repository.MemoryRepository;
+import com.context.memorybook.domain.memory.repository.MemorySegmentRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Export of a user's whole memory book as NDJSON, one record per line.
+ * Rows are read through database cursors and written as they arrive, so memory use
+ * does not depend on the size of the library. Every line is one of the export DTOs and starts
+ * with a "record" field: memory, tag, segment (memory body pieces in order), link (memory/content)
+ * or content; the other fields follow in a fixed order.
+ */
+@Service
+public class ExportService {
+
+    @Autowired
+    private MemoryRepository memoryRepository;
+
+    @Autowired
+    private MemorySegmentRepository memorySegmentRepository;
+
+    @Autowired
+    private MemoryContentRepository memoryContentRepository;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Write all records of the user to the stream
+     * Cursors need an open transaction, so the whole export runs in one read-only transaction
+     */
+    public void export(Long userId, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n")
+                    .writeValues(out)) {
+                long records = write(writer, memoryRepository.streamExportByUserId(userId))
+                        + write(writer, memoryRepository.streamTagExportByUserId(userId))
+                        + write(writer, memorySegmentRepository.streamExportByUserId(userId))
+                        + write(writer, memoryContentRepository.streamExportByUserId(userId))
+                        + write(writer, contentRepository.streamExportByUserId(userId));
+                writer.flush();
+                // The writer only separates values, so terminate the last line
+                if (records > 0) {
+                    out.write('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private long write(SequenceWriter writer, Stream<?> rows) throws IOException {
+        long count = 0;
+        try (rows) {
+            Iterator<?> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                count++;
+            }
+        }
+        return count;
+    }
+}
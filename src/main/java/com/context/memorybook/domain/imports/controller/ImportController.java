@@ -0,0 +1,86 @@
+package com.context.memorybook.domain.imports.controller;
+
+import com.context.memorybook.common.enums.ImportFormat;
+import com.context.memorybook.domain.imports.dto.ImportJobStatus;
+import com.context.memorybook.domain.imports.service.ImportService;
+import com.context.memorybook.domain.user.model.User;
+import com.context.memorybook.infrastructure.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+
+    @Autowired
+    private ImportService importService;
+
+    /**
+     * Upload an NDJSON or Netscape bookmarks file and import it in the background
+     * Returns 202 with the job; poll /api/import/{id} for progress
+     */
+    @PostMapping
+    public ResponseEntity<?> startImport(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) ImportFormat format,
+            Authentication authentication) {
+        Long userId = getUserIdFromAuthentication(authentication);
+        try {
+            ImportJobStatus status = importService.startImport(userId, file, format);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/import/" + status.getJobId()))
+                    .body(status);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        } catch (IOException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to store upload: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(error);
+        }
+    }
+
+    /**
+     * Progress of an import
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getImport(@PathVariable Long id, Authentication authentication) {
+        Long userId = getUserIdFromAuthentication(authentication);
+        ImportJobStatus status = importService.getStatus(id, userId);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(status);
+    }
+
+    private ResponseEntity<Map<String, String>> badRequest(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    private Long getUserIdFromAuthentication(Authentication authentication) {
+        if (authentication == null || authentication.getPrincipal() == null) {
+            throw new SecurityException("User not authenticated");
+        }
+
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        UserPrincipal userPrincipal = (UserPrincipal) userDetails;
+
+        User user = userPrincipal.getUser();
+
+        if (user == null) {
+            throw new SecurityException("User not found");
+        }
+
+        return user.getId();
+    }
+}
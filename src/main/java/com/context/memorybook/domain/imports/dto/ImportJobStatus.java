@@ -0,0 +1,24 @@
+package com.context.memorybook.domain.imports.dto;
+
+import com.context.memorybook.common.enums.ImportFormat;
+import com.context.memorybook.common.enums.ProcessingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobStatus {
+    private Long jobId;
+    private ImportFormat format;
+    private String fileName;
+    private ProcessingStatus status;
+    private long itemsProcessed; // Entries of the file read and stored so far
+    private long itemsFailed;
+    private String error; // Why the import stopped, if it failed
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,46 @@
+package com.context.memorybook.domain.imports.model;
+
+import com.context.memorybook.common.enums.ImportFormat;
+import com.context.memorybook.common.enums.ProcessingStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "import_jobs", indexes = {
+        @Index(name = "idx_import_jobs_status", columnList = "status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportFormat format;
+
+    private String fileName; // Name of the uploaded file
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProcessingStatus status = ProcessingStatus.PENDING; // PENDING until every entry was read
+
+    private long itemsProcessed; // Entries of the file committed so far; the import resumes after them
+
+    private long itemsFailed; // Entries that could not be parsed, stored or merged
+
+    @Column(columnDefinition = "TEXT")
+    private String error; // Why the import stopped, if it failed
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
@@ -0,0 +1,32 @@
+package com.context.memorybook.domain.imports.repository;
+
+import com.context.memorybook.common.enums.ProcessingStatus;
+import com.context.memorybook.domain.imports.model.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+    Optional<ImportJob> findByIdAndUserId(Long id, Long userId);
+
+    List<ImportJob> findByStatusOrderByIdAsc(ProcessingStatus status);
+
+    // Record a committed chunk: the import resumes after itemsProcessed entries
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.itemsProcessed = j.itemsProcessed + :processed, " +
+            "j.itemsFailed = j.itemsFailed + :failed, j.updatedAt = :updatedAt WHERE j.id = :id")
+    int addProgress(Long id, long processed, long failed, LocalDateTime updatedAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.status = :status, j.error = :error, j.updatedAt = :updatedAt WHERE j.id = :id")
+    int finish(Long id, ProcessingStatus status, String error, LocalDateTime updatedAt);
+}
@@ -0,0 +1,233 @@
+package com.context.memorybook.domain.imports.service;
+
+import com.context.memorybook.common.enums.ContentType;
+import com.context.memorybook.domain.ai.dto.ShareContentRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Netscape bookmarks HTML: each &lt;A HREF&gt; becomes a LINK, with the &lt;DD&gt; that follows it
+ * as description and its folder path (&lt;H3&gt; names) as source.
+ * The file is scanned tag by tag rather than parsed as a document, and over-long
+ * tags or texts are cut at maxEntryChars.
+ */
+class BookmarksImportReader extends ImportReader {
+
+    private static final Pattern ATTRIBUTE = Pattern.compile(
+            "([A-Za-z_:-]+)\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)'|([^\\s\"'>]+))");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final PushbackReader input;
+
+    // Names of the open folders, innermost first ("" for the unnamed root list)
+    private final Deque<String> folders = new ArrayDeque<>();
+
+    // Folder named by the last <H3>, opened by the next <DL>
+    private String nextFolder;
+
+    // Last bookmark read, held back until it is clear whether a <DD> description follows
+    private ShareContentRequest pending;
+
+    BookmarksImportReader(Reader reader, int maxEntryChars) {
+        this(new PushbackReader(new BufferedReader(reader)), maxEntryChars);
+    }
+
+    private BookmarksImportReader(PushbackReader input, int maxEntryChars) {
+        super(input, maxEntryChars);
+        this.input = input;
+    }
+
+    @Override
+    public ShareContentRequest next() throws IOException {
+        while (true) {
+            int c = input.read();
+            if (c == -1) {
+                ShareContentRequest last = pending;
+                pending = null;
+                return last;
+            }
+            if (c != '<') {
+                continue;
+            }
+
+            String tag = readUntil('>', true);
+            String name = tagName(tag);
+            ShareContentRequest ready = null;
+            switch (name) {
+                case "A" -> {
+                    ready = pending;
+                    pending = bookmark(tag);
+                }
+                case "DD" -> {
+                    if (pending != null) {
+                        pending.setDescription(emptyToNull(readText()));
+                    }
+                }
+                case "H3" -> {
+                    ready = pending;
+                    pending = null;
+                    nextFolder = readText();
+                }
+                case "DL" -> {
+                    ready = pending;
+                    pending = null;
+                    folders.push(nextFolder != null ? nextFolder : "");
+                    nextFolder = null;
+                }
+                case "/DL" -> {
+                    ready = pending;
+                    pending = null;
+                    folders.poll();
+                }
+                default -> {
+                }
+            }
+            if (ready != null) {
+                return ready;
+            }
+        }
+    }
+
+    private ShareContentRequest bookmark(String tag) throws IOException {
+        String href = null;
+        Matcher matcher = ATTRIBUTE.matcher(tag);
+        while (matcher.find()) {
+            if (matcher.group(1).equalsIgnoreCase("HREF")) {
+                String value = matcher.group(2) != null ? matcher.group(2)
+                        : matcher.group(3) != null ? matcher.group(3) : matcher.group(4);
+                href = decode(value).trim();
+                break;
+            }
+        }
+        String title = readText();
+
+        // Anchors without a target and browser-internal entries (smart folders, bookmarklets) are not links
+        if (href == null || href.isEmpty() || href.startsWith("place:") || href.startsWith("javascript:")) {
+            return null;
+        }
+
+        ShareContentRequest request = new ShareContentRequest();
+        request.setType(ContentType.LINK);
+        request.setTitle(title.isEmpty() ? href : title);
+        request.setUrl(href);
+        request.setSource(folderPath());
+        return request;
+    }
+
+    /**
+     * Text up to the next tag, with references decoded and whitespace collapsed as a browser shows it
+     */
+    private String readText() throws IOException {
+        return WHITESPACE.matcher(decode(readUntil('<', false))).replaceAll(" ").trim();
+    }
+
+    /**
+     * Read up to the delimiter, keeping at most maxEntryChars
+     * Tags consume their closing '>'; texts leave the '<' of the next tag unread
+     */
+    private String readUntil(char delimiter, boolean consume) throws IOException {
+        StringBuilder text = new StringBuilder();
+        int c;
+        while ((c = input.read()) != -1 && c != delimiter) {
+            if (text.length() < maxEntryChars) {
+                text.append((char) c);
+            }
+        }
+        if (c != -1 && !consume) {
+            input.unread(c);
+        }
+        return text.toString();
+    }
+
+    private String folderPath() {
+        List<String> names = new ArrayList<>();
+        Iterator<String> outermostFirst = folders.descendingIterator();
+        while (outermostFirst.hasNext()) {
+            String name = outermostFirst.next();
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+        return names.isEmpty() ? null : String.join(" / ", names);
+    }
+
+    private static String tagName(String tag) {
+        int end = tag.startsWith("/") ? 1 : 0;
+        while (end < tag.length() && Character.isLetterOrDigit(tag.charAt(end))) {
+            end++;
+        }
+        return tag.substring(0, end).toUpperCase(Locale.ROOT);
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Decode the character references used in bookmark files
+     */
+    static String decode(String text) {
+        int amp = text.indexOf('&');
+        if (amp < 0) {
+            return text;
+        }
+
+        StringBuilder decoded = new StringBuilder(text.length());
+        int from = 0;
+        while (amp >= 0) {
+            decoded.append(text, from, amp);
+            int semicolon = text.indexOf(';', amp);
+            String replacement = semicolon > amp && semicolon - amp <= 10
+                    ? reference(text.substring(amp + 1, semicolon))
+                    : null;
+            if (replacement == null) {
+                decoded.append('&');
+                from = amp + 1;
+            } else {
+                decoded.append(replacement);
+                from = semicolon + 1;
+            }
+            amp = text.indexOf('&', from);
+        }
+        decoded.append(text, from, text.length());
+        return decoded.toString();
+    }
+
+    private static String reference(String name) {
+        return switch (name) {
+            case "amp" -> "&";
+            case "lt" -> "<";
+            case "gt" -> ">";
+            case "quot" -> "\"";
+            case "apos" -> "'";
+            case "nbsp" -> " ";
+            default -> numericReference(name);
+        };
+    }
+
+    private static String numericReference(String name) {
+        if (name.length() < 2 || name.charAt(0) != '#') {
+            return null;
+        }
+        try {
+            int codePoint = name.charAt(1) == 'x' || name.charAt(1) == 'X'
+                    ? Integer.parseInt(name.substring(2), 16)
+                    : Integer.parseInt(name.substring(1));
+            return Character.isValidCodePoint(codePoint) ? new String(Character.toChars(codePoint)) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.context.memorybook.domain.imports.service;
+
+import com.context.memorybook.common.enums.ImportFormat;
+import com.context.memorybook.domain.ai.dto.ShareContentRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads the content items of an import file one at a time, so memory use depends on the
+ * size of an entry and not on the size of the file. Entries are capped at maxEntryChars.
+ */
+public abstract class ImportReader implements Closeable {
+
+    protected final Reader reader;
+    protected final int maxEntryChars;
+
+    protected ImportReader(Reader reader, int maxEntryChars) {
+        this.reader = reader;
+        this.maxEntryChars = maxEntryChars;
+    }
+
+    public static ImportReader open(ImportFormat format, Reader reader, ObjectMapper objectMapper, int maxEntryChars) {
+        return switch (format) {
+            case NDJSON -> new NdjsonImportReader(reader, objectMapper, maxEntryChars);
+            case BOOKMARKS -> new BookmarksImportReader(reader, maxEntryChars);
+        };
+    }
+
+    /**
+     * Next content item, or null at the end of the file
+     * Throws IllegalArgumentException for an entry that cannot be read; the next call continues after it
+     */
+    public abstract ShareContentRequest next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,293 @@
+package com.context.memorybook.domain.imports.service;
+
+import com.context.memorybook.common.enums.ImportFormat;
+import com.context.memorybook.common.enums.ProcessingStatus;
+import com.context.memorybook.common.util.WorkerThreads;
+import com.context.memorybook.domain.ai.dto.ShareContentRequest;
+import com.context.memorybook.domain.ai.service.ContentShareService;
+import com.context.memorybook.domain.imports.dto.ImportJobStatus;
+import com.context.memorybook.domain.imports.model.ImportJob;
+import com.context.memorybook.domain.imports.repository.ImportJobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Bulk import of NDJSON or bookmark files.
+ * The upload is stored on disk and read back one chunk at a time through the share pipeline.
+ * Each chunk's contents are stored in the same transaction that advances the job, so after a
+ * restart the job continues after its last committed chunk without importing anything twice.
+ */
+@Service
+public class ImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportService.class);
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ContentShareService contentShareService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${memorybook.import.data-dir:data/imports}")
+    private String dataDir;
+
+    @Value("${memorybook.import.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${memorybook.import.max-entry-chars:1000000}")
+    private int maxEntryChars;
+
+    @Value("${memorybook.import.workers:2}")
+    private int workers;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService executor;
+
+    // Jobs that are queued or running
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean stopping;
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newFixedThreadPool(workers, WorkerThreads.factory("content-import-", virtualThreads));
+    }
+
+    /**
+     * Store an uploaded file and import it in the background
+     * The format is taken from the file name (.html/.htm are bookmarks) unless given
+     */
+    public ImportJobStatus startImport(Long userId, MultipartFile file, ImportFormat format) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("File is required");
+        }
+
+        ImportJob job = new ImportJob();
+        job.setUserId(userId);
+        job.setFileName(file.getOriginalFilename());
+        job.setFormat(format != null ? format : detectFormat(file.getOriginalFilename()));
+        job = importJobRepository.save(job);
+
+        Path upload = uploadPath(job.getId());
+        try {
+            Files.createDirectories(upload.getParent());
+            file.transferTo(upload);
+        } catch (IOException e) {
+            importJobRepository.finish(job.getId(), ProcessingStatus.FAILED,
+                    "Failed to store upload: " + e.getMessage(), LocalDateTime.now());
+            throw e;
+        }
+
+        submit(job.getId());
+        return toStatus(job);
+    }
+
+    /**
+     * Progress of one of the user's imports, or null if there is no such job
+     */
+    public ImportJobStatus getStatus(Long jobId, Long userId) {
+        return importJobRepository.findByIdAndUserId(jobId, userId)
+                .map(this::toStatus)
+                .orElse(null);
+    }
+
+    /**
+     * Continue imports interrupted by a restart
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        List<ImportJob> pending = importJobRepository.findByStatusOrderByIdAsc(ProcessingStatus.PENDING);
+        for (ImportJob job : pending) {
+            submit(job.getId());
+        }
+        if (!pending.isEmpty()) {
+            log.info("Resuming {} unfinished imports", pending.size());
+        }
+    }
+
+    private void submit(Long jobId) {
+        if (!inFlight.add(jobId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> run(jobId));
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the job stays PENDING and is resumed on the next start
+            inFlight.remove(jobId);
+        }
+    }
+
+    private void run(Long jobId) {
+        try {
+            ImportJob job = importJobRepository.findById(jobId).orElse(null);
+            if (job == null || job.getStatus() != ProcessingStatus.PENDING) {
+                return;
+            }
+            Path upload = uploadPath(jobId);
+            if (!Files.exists(upload)) {
+                importJobRepository.finish(jobId, ProcessingStatus.FAILED,
+                        "Uploaded file is no longer available", LocalDateTime.now());
+                return;
+            }
+
+            try (ImportReader reader = ImportReader.open(job.getFormat(), open(upload), objectMapper, maxEntryChars)) {
+                skip(reader, job.getItemsProcessed());
+                while (!stopping) {
+                    if (!importChunk(job.getUserId(), jobId, reader)) {
+                        break;
+                    }
+                }
+            }
+            if (stopping) {
+                return;
+            }
+
+            importJobRepository.finish(jobId, ProcessingStatus.COMPLETED, null, LocalDateTime.now());
+            Files.deleteIfExists(upload);
+        } catch (Exception e) {
+            if (stopping) {
+                return;
+            }
+            log.warn("Import {} failed", jobId, e);
+            importJobRepository.finish(jobId, ProcessingStatus.FAILED, e.getMessage(), LocalDateTime.now());
+            try {
+                Files.deleteIfExists(uploadPath(jobId));
+            } catch (IOException ignored) {
+                // Left for manual cleanup
+            }
+        } finally {
+            inFlight.remove(jobId);
+        }
+    }
+
+    /**
+     * Read and import the next chunk of entries
+     * Returns false once the end of the file was reached
+     */
+    private boolean importChunk(Long userId, Long jobId, ImportReader reader) throws IOException {
+        List<ShareContentRequest> chunk = new ArrayList<>(chunkSize);
+        int unreadable = 0;
+        boolean more = true;
+        while (chunk.size() + unreadable < chunkSize) {
+            try {
+                ShareContentRequest request = reader.next();
+                if (request == null) {
+                    more = false;
+                    break;
+                }
+                chunk.add(request);
+            } catch (IllegalArgumentException e) {
+                unreadable++;
+            }
+        }
+        if (chunk.isEmpty() && unreadable == 0) {
+            return false;
+        }
+
+        long entries = chunk.size() + unreadable;
+        long unreadableEntries = unreadable;
+        int failed = contentShareService.importChunk(userId, chunk, rejected -> importJobRepository.addProgress(
+                jobId, entries, unreadableEntries + rejected, LocalDateTime.now()));
+        if (failed > 0) {
+            importJobRepository.addProgress(jobId, 0, failed, LocalDateTime.now());
+        }
+        return more;
+    }
+
+    /**
+     * Move past the entries committed by a previous run
+     */
+    private void skip(ImportReader reader, long entries) throws IOException {
+        for (long i = 0; i < entries; i++) {
+            try {
+                if (reader.next() == null) {
+                    return;
+                }
+            } catch (IllegalArgumentException e) {
+                // Counted as an entry when it was first read
+            }
+        }
+    }
+
+    /**
+     * Open the stored upload as UTF-8 text, decompressing it if it is gzipped
+     */
+    private Reader open(Path upload) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(upload));
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        if (first == 0x1f && second == 0x8b) {
+            in = new GZIPInputStream(in, 8192);
+        }
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+
+    private ImportFormat detectFormat(String fileName) {
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        return name.endsWith(".html") || name.endsWith(".htm") ? ImportFormat.BOOKMARKS : ImportFormat.NDJSON;
+    }
+
+    private Path uploadPath(Long jobId) {
+        return Paths.get(dataDir, jobId + ".upload");
+    }
+
+    private ImportJobStatus toStatus(ImportJob job) {
+        return new ImportJobStatus(
+                job.getId(),
+                job.getFormat(),
+                job.getFileName(),
+                job.getStatus(),
+                job.getItemsProcessed(),
+                job.getItemsFailed(),
+                job.getError(),
+                job.getCreatedAt(),
+                job.getUpdatedAt()
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Running jobs stop after their current chunk is committed and resume on the next start
+        stopping = true;
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,83 @@
+package com.context.memorybook.domain.imports.service;
+
+import com.context.memorybook.domain.ai.dto.ShareContentRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * One JSON object per line with the fields of a share request (type, title, description, ...).
+ * Lines of a MemoryBook export carry a "record" field; only its content records are imported.
+ */
+class NdjsonImportReader extends ImportReader {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader requestReader;
+
+    NdjsonImportReader(Reader reader, ObjectMapper objectMapper, int maxEntryChars) {
+        super(reader instanceof BufferedReader ? reader : new BufferedReader(reader), maxEntryChars);
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(ShareContentRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Override
+    public ShareContentRequest next() throws IOException {
+        while (true) {
+            String line = readLine();
+            if (line == null) {
+                return null;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                if (!node.isObject()) {
+                    throw new IllegalArgumentException("Expected a JSON object");
+                }
+                JsonNode record = node.get("record");
+                if (record != null && !"content".equals(record.asText())) {
+                    continue;
+                }
+                return requestReader.readValue(node);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Invalid entry: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * Read one line without holding more than maxEntryChars of it
+     */
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        boolean tooLong = false;
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (line.length() < maxEntryChars) {
+                line.append((char) c);
+            } else {
+                tooLong = true;
+            }
+        }
+        if (c == -1 && line.isEmpty()) {
+            return null;
+        }
+        if (tooLong) {
+            throw new IllegalArgumentException("Entry longer than " + maxEntryChars + " characters");
+        }
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\r') {
+            line.setLength(end - 1);
+        }
+        return line.toString();
+    }
+}
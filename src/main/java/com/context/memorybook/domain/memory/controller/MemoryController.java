@@ -1,18 +1,22 @@
 package com.context.memorybook.domain.memory.controller;
 
+import com.context.memorybook.common.util.ETags;
 import com.context.memorybook.domain.memory.model.Memory;
 import com.context.memorybook.domain.user.model.User;
 import com.context.memorybook.domain.memory.service.MemoryService;
 import com.context.memorybook.infrastructure.security.UserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/memories")
@@ -22,26 +26,45 @@ public class MemoryController {
     private MemoryService memoryService;
 
     /**
-     * Get all memories for the authenticated user
+     * Get memories of the authenticated user, one page at a time
+     * Pass nextCursor back as cursor for the next page; fields adds heavy columns (e.g. fields=content,tags)
+     * Answers 304 to If-None-Match while none of the user's memories changed
      */
     @GetMapping
-    public ResponseEntity<List<Memory>> getMyMemories(Authentication authentication) {
+    public ResponseEntity<?> getMyMemories(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) Set<String> fields,
+            Authentication authentication,
+            WebRequest webRequest) {
         Long userId = getUserIdFromAuthentication(authentication);
-        List<Memory> memories = memoryService.getMemoriesByUser(userId);
-        return ResponseEntity.ok(memories);
+        try {
+            String eTag = memoryService.getMemoryPageETag(userId, cursor, limit, fields);
+            if (webRequest.checkNotModified(eTag)) {
+                return notModified(eTag);
+            }
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .cacheControl(ETags.REVALIDATE)
+                    .body(memoryService.getMemoryPage(userId, cursor, limit, fields));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
     }
 
     /**
      * Get a specific memory by ID
+     * Answers 304 to If-None-Match without loading the memory while it is unchanged
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getMemory(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<?> getMemory(@PathVariable Long id, Authentication authentication, WebRequest webRequest) {
         try {
             Long userId = getUserIdFromAuthentication(authentication);
-            Memory memory = memoryService.getMemoriesByUser(userId).stream()
-                    .filter(m -> m.getId().equals(id))
-                    .findFirst()
-                    .orElse(null);
+            String eTag = memoryService.getMemoryETag(id, userId);
+            if (eTag != null && webRequest.checkNotModified(eTag)) {
+                return notModified(eTag);
+            }
+            Memory memory = eTag != null ? memoryService.getMemory(id, userId) : null;
 
             if (memory == null) {
                 Map<String, String> error = new HashMap<>();
@@ -49,7 +72,10 @@ public class MemoryController {
                 return ResponseEntity.notFound().build();
             }
 
-            return ResponseEntity.ok(memory);
+            return ResponseEntity.ok()
+                    .eTag(memoryService.getMemoryETag(memory))
+                    .cacheControl(ETags.REVALIDATE)
+                    .body(memory);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -58,15 +84,21 @@ public class MemoryController {
     }
 
     /**
-     * Search memories by query
+     * Search memories by query, best match first
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Memory>> searchMemories(
+    public ResponseEntity<?> searchMemories(
             @RequestParam String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) Set<String> fields,
             Authentication authentication) {
         Long userId = getUserIdFromAuthentication(authentication);
-        List<Memory> memories = memoryService.searchMemories(userId, query);
-        return ResponseEntity.ok(memories);
+        try {
+            return ResponseEntity.ok(memoryService.searchMemories(userId, query, cursor, limit, fields));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
     }
 
     /**
@@ -143,6 +175,19 @@ public class MemoryController {
         }
     }
 
+    private ResponseEntity<?> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(ETags.REVALIDATE)
+                .build();
+    }
+
+    private ResponseEntity<Map<String, String>> badRequest(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return ResponseEntity.badRequest().body(error);
+    }
+
     /**
      * Helper method to get user ID from authentication
      */
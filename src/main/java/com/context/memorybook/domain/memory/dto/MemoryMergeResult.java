@@ -0,0 +1,16 @@
+package com.context.memorybook.domain.memory.dto;
+
+import com.context.memorybook.domain.memory.model.Memory;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Memory that shared content ended up in, and whether it was created for it
+ * or the content was merged into an existing one
+ */
+@Getter
+@AllArgsConstructor
+public class MemoryMergeResult {
+    private final Memory memory;
+    private final boolean created;
+}
@@ -0,0 +1,46 @@
+package com.context.memorybook.domain.memory.dto;
+
+import com.context.memorybook.domain.memory.model.Tag;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Light view of a memory for list and search results
+ * Heavy fields are only filled when requested through the fields parameter
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MemorySummary {
+    public static final Set<String> OPTIONAL_FIELDS = Set.of("content", "keywords", "suggestions", "tags",
+            "relatedContentIds");
+
+    private Long id;
+    private String context;
+    private String summary;
+    private String type;
+    private Integer relevanceScore;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    private String content;
+    private String keywords;
+    private String suggestions;
+    private Set<Tag> tags;
+    private String relatedContentIds; // Comma-separated, in the order the content was merged
+
+    public MemorySummary(Long id, String context, String summary, String type, Integer relevanceScore,
+                         LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.context = context;
+        this.summary = summary;
+        this.type = type;
+        this.relevanceScore = relevanceScore;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
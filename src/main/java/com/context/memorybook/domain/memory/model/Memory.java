@@ -1,5 +1,7 @@
 package com.context.memorybook.domain.memory.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,7 +12,10 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "memories")
+@Table(name = "memories", indexes = {
+        @Index(name = "idx_memories_user_updated", columnList = "userId, updatedAt, id"),
+        @Index(name = "idx_memories_user_change_seq", columnList = "userId, changeSeq, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,8 +31,13 @@ public class Memory {
 
     private String type;  // optional: Note, Event, Reminder
 
-    @Column(columnDefinition = "TEXT")
-    private String content;
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String content; // Assembled from memory_segments, only for single-memory reads
+
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String relatedContentIds; // Comma-separated ids from memory_content, only for single-memory reads
 
     @Column(columnDefinition = "TEXT")
     private String summary; // AI-generated summary of the memory
@@ -35,9 +45,6 @@ public class Memory {
     @Column(columnDefinition = "TEXT")
     private String suggestions; // Suggestions based on the memory context
 
-    @Column(columnDefinition = "TEXT")
-    private String relatedContentIds; // Comma-separated IDs of related content
-
     @Column(nullable = false)
     private Integer relevanceScore = 1; // How many times related content was shared
 
@@ -48,6 +55,21 @@ public class Memory {
     private LocalDateTime updatedAt = LocalDateTime.now();
     private LocalDateTime lastRelatedContentAt; // When was the last related content shared
 
+    @Embedded
+    @JsonIgnore
+    private SummaryState summaryState; // Lets merges update the summary from the new content only
+
+    @JsonIgnore
+    @Column(columnDefinition = "bytea")
+    private byte[] minhashSignature; // MinHash of the matching keywords, see MinHasher
+
+    @JsonIgnore
+    private Long changeSeq; // Per-user change sequence number of the last change, see ChangeSequenceService
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version; // Optimistic lock, incremented on every update
+
     @ManyToMany(fetch = FetchType.EAGER, cascade = {
             CascadeType.PERSIST, CascadeType.MERGE
     })
@@ -0,0 +1,37 @@
+package com.context.memorybook.domain.memory.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Link between a memory and a content item that was merged into it
+ */
+@Entity
+@Table(name = "memory_content",
+        uniqueConstraints = @UniqueConstraint(name = "uk_memory_content", columnNames = {"memoryId", "contentId"}),
+        indexes = @Index(name = "idx_memory_content_content_id", columnList = "contentId"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemoryContent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long memoryId;
+
+    @Column(nullable = false)
+    private Long contentId;
+
+    private LocalDateTime linkedAt = LocalDateTime.now();
+
+    public MemoryContent(Long memoryId, Long contentId) {
+        this.memoryId = memoryId;
+        this.contentId = contentId;
+    }
+}
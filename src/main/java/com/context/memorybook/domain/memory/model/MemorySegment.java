@@ -0,0 +1,40 @@
+package com.context.memorybook.domain.memory.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One appended piece of a memory's body; segments are only ever inserted,
+ * the full body is the segments of a memory in id order
+ */
+@Entity
+@Table(name = "memory_segments",
+        indexes = @Index(name = "idx_memory_segments_memory_id", columnList = "memoryId, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemorySegment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long memoryId;
+
+    private Long contentId; // Content the segment came from, null for manual edits
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public MemorySegment(Long memoryId, Long contentId, String body) {
+        this.memoryId = memoryId;
+        this.contentId = contentId;
+        this.body = body;
+    }
+}
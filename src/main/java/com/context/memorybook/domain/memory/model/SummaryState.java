@@ -0,0 +1,30 @@
+package com.context.memorybook.domain.memory.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Incremental summarizer state of a memory body, see IncrementalSummarizer.
+ * Its size is bounded by the summary length, not by the size of the body.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SummaryState {
+    @Column(columnDefinition = "TEXT")
+    private String summarySelected; // Sentences selected so far, joined with ". "
+
+    @Column(columnDefinition = "TEXT")
+    private String summaryTail; // Last sentence of the body, still open because it has no terminator yet
+
+    @Column(columnDefinition = "TEXT")
+    private String summaryHead; // First characters of the body, used when no sentence qualifies
+
+    private Boolean summaryClosed; // A sentence did not fit, later content can no longer change the selection
+
+    private Boolean summaryBlank; // The body so far is whitespace only
+}
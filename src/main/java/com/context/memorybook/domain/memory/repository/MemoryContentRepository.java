@@ -0,0 +1,43 @@
+package com.context.memorybook.domain.memory.repository;
+
+import com.context.memorybook.domain.export.dto.LinkExport;
+import com.context.memorybook.domain.memory.model.MemoryContent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface MemoryContentRepository extends JpaRepository<MemoryContent, Long> {
+    // Titles of the content linked to a memory, in the order it was merged
+    @Query("SELECT c.title FROM MemoryContent mc JOIN Content c ON c.id = mc.contentId " +
+            "WHERE mc.memoryId = :memoryId ORDER BY mc.id")
+    List<String> findRelatedTitles(Long memoryId, Pageable pageable);
+
+    @Query("SELECT mc.contentId FROM MemoryContent mc WHERE mc.memoryId = :memoryId ORDER BY mc.id")
+    List<Long> findContentIdsByMemoryId(Long memoryId);
+
+    // Links of several memories at once, each memory's in the order it was merged
+    List<MemoryContent> findByMemoryIdInOrderByIdAsc(Collection<Long> memoryIds);
+
+    // Stream a user's memory/content links for export
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.context.memorybook.domain.export.dto.LinkExport(mc.memoryId, mc.contentId, mc.linkedAt) " +
+            "FROM MemoryContent mc JOIN Memory m ON m.id = mc.memoryId WHERE m.userId = :userId ORDER BY mc.id")
+    Stream<LinkExport> streamExportByUserId(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM MemoryContent mc WHERE mc.memoryId = :memoryId")
+    int deleteByMemoryId(Long memoryId);
+}
@@ -0,0 +1,16 @@
+package com.context.memorybook.domain.memory.repository;
+
+/**
+ * Lightweight projection of the columns used for keyword matching
+ */
+public interface MemoryKeywordsView {
+    Long getId();
+
+    Long getUserId();
+
+    String getContext();
+
+    String getKeywords();
+
+    Integer getRelevanceScore();
+}
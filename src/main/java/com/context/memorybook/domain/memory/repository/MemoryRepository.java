@@ -1,29 +1,109 @@
 package com.context.memorybook.domain.memory.repository;
 
+import com.context.memorybook.common.dto.ChangeWatermark;
+import com.context.memorybook.domain.export.dto.MemoryExport;
+import com.context.memorybook.domain.export.dto.TagExport;
+import com.context.memorybook.domain.memory.dto.MemorySummary;
 import com.context.memorybook.domain.memory.model.Memory;
+import com.context.memorybook.domain.sync.repository.ChangeView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MemoryRepository extends JpaRepository<Memory, Long> {
+    String SUMMARY_SELECT = "SELECT new com.context.memorybook.domain.memory.dto.MemorySummary(" +
+            "m.id, m.context, m.summary, m.type, m.relevanceScore, m.createdAt, m.updatedAt) FROM Memory m ";
+
     // Get all memories for a specific user
     List<Memory> findByUserId(Long userId);
 
+    Optional<Memory> findByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT m.version AS version, m.updatedAt AS updatedAt FROM Memory m WHERE m.id = :id AND m.userId = :userId")
+    Optional<MemoryVersionView> findVersionByIdAndUserId(Long id, Long userId);
+
+    // Changes whenever one of the user's memories is created, updated or deleted
+    @Query("SELECT new com.context.memorybook.common.dto.ChangeWatermark(COUNT(m), MAX(m.updatedAt)) " +
+            "FROM Memory m WHERE m.userId = :userId")
+    ChangeWatermark findWatermarkByUserId(Long userId);
+
+    // First page of a user's memory summaries, most recently updated first
+    @Query(SUMMARY_SELECT + "WHERE m.userId = :userId ORDER BY m.updatedAt DESC, m.id DESC")
+    List<MemorySummary> findSummaries(Long userId, Pageable pageable);
+
+    // Next page of a user's memory summaries, after the (updatedAt, id) of the last row seen
+    @Query(SUMMARY_SELECT + "WHERE m.userId = :userId " +
+            "AND (m.updatedAt < :updatedAt OR (m.updatedAt = :updatedAt AND m.id < :id)) " +
+            "ORDER BY m.updatedAt DESC, m.id DESC")
+    List<MemorySummary> findSummariesAfter(Long userId, LocalDateTime updatedAt, Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE m.userId = :userId AND m.id IN :ids")
+    List<MemorySummary> findSummariesByIdIn(Long userId, Collection<Long> ids);
+
+    // A user's memories changed after the given change sequence number, oldest change first
+    @Query("SELECT m.id AS id, m.changeSeq AS changeSeq FROM Memory m " +
+            "WHERE m.userId = :userId AND m.changeSeq > :since ORDER BY m.changeSeq")
+    List<ChangeView> findChangesAfter(Long userId, Long since, Pageable pageable);
+
+    // Stream a user's memories for export, without bodies (segments) or tags
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.context.memorybook.domain.export.dto.MemoryExport(m.id, m.type, m.context, m.summary, " +
+            "m.suggestions, m.keywords, m.relevanceScore, m.createdAt, m.updatedAt, m.lastRelatedContentAt) " +
+            "FROM Memory m WHERE m.userId = :userId ORDER BY m.id")
+    Stream<MemoryExport> streamExportByUserId(Long userId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.context.memorybook.domain.export.dto.TagExport(m.id, t.name) FROM Memory m JOIN m.tags t " +
+            "WHERE m.userId = :userId ORDER BY m.id")
+    Stream<TagExport> streamTagExportByUserId(Long userId);
+
+    // Page through all memories in id order
+    List<Memory> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
     // Get memories for a specific user and context (case-insensitive)
     List<Memory> findByUserIdAndContextIgnoreCase(Long userId, String context);
 
-    // Search memories by keyword (in content or context)
-    @Query("SELECT m FROM Memory m WHERE m.userId = :userId AND " +
-            "(LOWER(m.content) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "OR LOWER(m.context) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "OR LOWER(m.keywords) LIKE LOWER(CONCAT('%', :query, '%')))")
-    List<Memory> searchByContentOrContext(Long userId, String query);
-
     // Find memories by keywords
     @Query("SELECT m FROM Memory m WHERE m.userId = :userId AND " +
             "LOWER(m.keywords) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Memory> findByKeyword(Long userId, String keyword);
+
+    // Load only the matching columns of the given memories (LSH candidates)
+    @Query("SELECT m.id AS id, m.userId AS userId, m.context AS context, m.keywords AS keywords, " +
+            "m.relevanceScore AS relevanceScore FROM Memory m WHERE m.id IN :ids")
+    List<MemoryKeywordsView> findKeywordsByIdIn(Collection<Long> ids);
+
+    // Signatures of a user's memories (used to build their LSH table)
+    @Query("SELECT m.id AS id, m.userId AS userId, m.context AS context, m.keywords AS keywords, " +
+            "m.minhashSignature AS minhashSignature, m.changeSeq AS changeSeq FROM Memory m WHERE m.userId = :userId")
+    List<MemorySignatureView> findSignaturesByUserId(Long userId);
+
+    // Page through memories without a signature in id order (used to backfill them)
+    @Query("SELECT m.id AS id, m.userId AS userId, m.context AS context, m.keywords AS keywords, " +
+            "m.minhashSignature AS minhashSignature, m.changeSeq AS changeSeq FROM Memory m " +
+            "WHERE m.id > :afterId AND m.minhashSignature IS NULL ORDER BY m.id")
+    List<MemorySignatureView> findUnsignedAfter(Long afterId, Pageable pageable);
+
+    // Only fills a missing signature, never overwrites one stored by a save
+    @Modifying
+    @Query("UPDATE Memory m SET m.minhashSignature = :signature WHERE m.id = :id AND m.minhashSignature IS NULL")
+    int updateSignature(Long id, byte[] signature);
 }
@@ -0,0 +1,44 @@
+package com.context.memorybook.domain.memory.repository;
+
+import com.context.memorybook.domain.export.dto.SegmentExport;
+import com.context.memorybook.domain.memory.model.MemorySegment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface MemorySegmentRepository extends JpaRepository<MemorySegment, Long> {
+    // Segment bodies of a memory in the order they were appended
+    @Query("SELECT s.body FROM MemorySegment s WHERE s.memoryId = :memoryId ORDER BY s.id")
+    List<String> findBodiesByMemoryId(Long memoryId);
+
+    // Page through all segments with the owner of their memory (used to rebuild the search index)
+    @Query("SELECT s, m.userId FROM MemorySegment s JOIN Memory m ON m.id = s.memoryId " +
+            "WHERE s.id > :afterId ORDER BY s.id")
+    List<Object[]> findWithUserIdAfter(Long afterId, Pageable pageable);
+
+    // Stream a user's segments for export, grouped by memory in append order
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.context.memorybook.domain.export.dto.SegmentExport(s.memoryId, s.contentId, s.body, s.createdAt) " +
+            "FROM MemorySegment s JOIN Memory m ON m.id = s.memoryId WHERE m.userId = :userId ORDER BY s.memoryId, s.id")
+    Stream<SegmentExport> streamExportByUserId(Long userId);
+
+    // Segments of several memories, grouped by memory in append order
+    List<MemorySegment> findByMemoryIdInOrderByMemoryIdAscIdAsc(Collection<Long> memoryIds);
+
+    @Modifying
+    @Query("DELETE FROM MemorySegment s WHERE s.memoryId = :memoryId")
+    int deleteByMemoryId(Long memoryId);
+}
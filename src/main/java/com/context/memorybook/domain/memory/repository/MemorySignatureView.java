@@ -0,0 +1,18 @@
+package com.context.memorybook.domain.memory.repository;
+
+/**
+ * Columns needed to build a user's LSH table
+ */
+public interface MemorySignatureView {
+    Long getId();
+
+    Long getUserId();
+
+    String getContext();
+
+    String getKeywords();
+
+    byte[] getMinhashSignature();
+
+    Long getChangeSeq();
+}
@@ -0,0 +1,12 @@
+package com.context.memorybook.domain.memory.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version columns of a memory, enough to answer a conditional GET
+ */
+public interface MemoryVersionView {
+    Long getVersion();
+
+    LocalDateTime getUpdatedAt();
+}
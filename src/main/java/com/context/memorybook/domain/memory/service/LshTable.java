@@ -0,0 +1,66 @@
+package com.context.memorybook.domain.memory.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Banded LSH table over MinHash signatures (band key -> memory ids).
+ * Not thread safe; callers guard access.
+ */
+public class LshTable {
+
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();
+    private final Map<Long, long[]> memoryBandKeys = new HashMap<>();
+
+    public void put(Long memoryId, int[] signature) {
+        remove(memoryId);
+        if (MinHasher.isEmpty(signature)) {
+            return;
+        }
+
+        long[] keys = MinHasher.bandKeys(signature);
+        memoryBandKeys.put(memoryId, keys);
+        for (long key : keys) {
+            buckets.computeIfAbsent(key, k -> new HashSet<>()).add(memoryId);
+        }
+    }
+
+    public void remove(Long memoryId) {
+        long[] keys = memoryBandKeys.remove(memoryId);
+        if (keys == null) {
+            return;
+        }
+        for (long key : keys) {
+            Set<Long> memoryIds = buckets.get(key);
+            if (memoryIds != null) {
+                memoryIds.remove(memoryId);
+                if (memoryIds.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Memories sharing at least one band with the signature
+     */
+    public Set<Long> candidates(int[] signature) {
+        Set<Long> candidates = new HashSet<>();
+        if (MinHasher.isEmpty(signature)) {
+            return candidates;
+        }
+        for (long key : MinHasher.bandKeys(signature)) {
+            Set<Long> memoryIds = buckets.get(key);
+            if (memoryIds != null) {
+                candidates.addAll(memoryIds);
+            }
+        }
+        return candidates;
+    }
+
+    public int size() {
+        return memoryBandKeys.size();
+    }
+}
@@ -0,0 +1,26 @@
+package com.context.memorybook.domain.memory.service;
+
+import com.context.memorybook.domain.ai.service.ContextExtractionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Keyword set a memory is matched on, shared by the LSH signatures and the exact scoring
+ */
+@Component
+public class MatchingKeywords {
+
+    @Autowired
+    private ContextExtractionService contextExtractionService;
+
+    /**
+     * Same tokens calculateSimilarity uses
+     */
+    public Set<String> keywordsOf(String context, String keywords) {
+        return new HashSet<>(contextExtractionService.extractKeywords(
+                context + " " + (keywords != null ? keywords : "")));
+    }
+}
@@ -0,0 +1,208 @@
+package com.context.memorybook.domain.memory.service;
+
+import com.context.memorybook.common.util.TransactionHooks;
+import com.context.memorybook.domain.memory.model.Memory;
+import com.context.memorybook.domain.memory.repository.MemoryRepository;
+import com.context.memorybook.domain.memory.repository.MemorySignatureView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process LSH banding tables over the MinHash signatures stored on memories, one per user.
+ * A user's table is built from the database on their first match, kept up to date after each
+ * committed memory change and evicted once the user has been idle for a while.
+ * Changes are applied in change sequence order, so a late commit hook cannot
+ * bring back an older signature or a deleted memory.
+ */
+@Component
+public class MemoryLshIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MemoryLshIndex.class);
+    private static final int BACKFILL_PAGE_SIZE = 1000;
+
+    // Applied sequence of a deleted memory; ids are never reused, so nothing may re-add it
+    private static final long DELETED = Long.MAX_VALUE;
+
+    @Autowired
+    private MemoryRepository memoryRepository;
+
+    @Autowired
+    private MatchingKeywords matchingKeywords;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${memorybook.matching.index.idle-timeout-ms:1800000}")
+    private long idleTimeoutMs;
+
+    private final Map<Long, UserTable> tables = new ConcurrentHashMap<>();
+
+    /**
+     * Memories of the user whose signature shares at least one band with the query
+     */
+    public Set<Long> candidates(Long userId, int[] signature) {
+        UserTable table = tables.computeIfAbsent(userId, id -> new UserTable());
+        table.touch();
+        if (!table.loaded) {
+            // Only the first lookup of a user takes the write lock to load the table
+            table.lock.writeLock().lock();
+            try {
+                if (!table.loaded) {
+                    load(userId, table);
+                }
+            } finally {
+                table.lock.writeLock().unlock();
+            }
+        }
+
+        table.lock.readLock().lock();
+        try {
+            return table.lsh.candidates(signature);
+        } finally {
+            table.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compute and store the signature of a memory's current keywords
+     */
+    public void sign(Memory memory) {
+        Set<String> keywords = matchingKeywords.keywordsOf(memory.getContext(), memory.getKeywords());
+        memory.setMinhashSignature(MinHasher.toBytes(MinHasher.signature(keywords)));
+    }
+
+    /**
+     * Re-index a memory once the current transaction commits
+     */
+    public void onMemorySaved(Memory memory) {
+        Long userId = memory.getUserId();
+        Long memoryId = memory.getId();
+        long changeSeq = memory.getChangeSeq() != null ? memory.getChangeSeq() : 0;
+        int[] signature = MinHasher.fromBytes(memory.getMinhashSignature());
+        if (signature == null) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> apply(userId, memoryId, changeSeq, signature));
+    }
+
+    /**
+     * Drop a memory from the index once the current transaction commits
+     */
+    public void onMemoryDeleted(Long userId, Long memoryId) {
+        TransactionHooks.afterCommit(() -> apply(userId, memoryId, DELETED, null));
+    }
+
+    /**
+     * Evict the tables of users that have not matched anything recently
+     */
+    @Scheduled(fixedDelayString = "${memorybook.matching.index.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMs;
+        tables.entrySet().removeIf(entry -> entry.getValue().lastAccess < cutoff);
+    }
+
+    /**
+     * Store signatures for memories created before signatures existed
+     * Tables compute missing signatures themselves, so this only saves that work later;
+     * a memory signed by a save in the meantime is left alone.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSignatures() {
+        long afterId = 0;
+        int backfilled = 0;
+        while (true) {
+            List<MemorySignatureView> page = memoryRepository.findUnsignedAfter(
+                    afterId, PageRequest.of(0, BACKFILL_PAGE_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+
+            for (MemorySignatureView view : page) {
+                byte[] bytes = MinHasher.toBytes(signatureOf(view));
+                transactionTemplate.executeWithoutResult(status -> memoryRepository.updateSignature(view.getId(), bytes));
+                backfilled++;
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+        if (backfilled > 0) {
+            log.info("Backfilled MinHash signatures of {} memories", backfilled);
+        }
+    }
+
+    /**
+     * Apply a committed change to a loaded table, unless a later change was applied already
+     * Tables that are not loaded read the change from the database when they are.
+     */
+    private void apply(Long userId, Long memoryId, long changeSeq, int[] signature) {
+        UserTable table = tables.get(userId);
+        if (table == null) {
+            return;
+        }
+        table.lock.writeLock().lock();
+        try {
+            if (!table.loaded) {
+                return;
+            }
+            Long applied = table.appliedSeq.get(memoryId);
+            if (applied != null && applied >= changeSeq) {
+                return;
+            }
+            table.appliedSeq.put(memoryId, changeSeq);
+            if (signature != null) {
+                table.lsh.put(memoryId, signature);
+            } else {
+                table.lsh.remove(memoryId);
+            }
+        } finally {
+            table.lock.writeLock().unlock();
+        }
+    }
+
+    private void load(Long userId, UserTable table) {
+        for (MemorySignatureView view : memoryRepository.findSignaturesByUserId(userId)) {
+            table.appliedSeq.put(view.getId(), view.getChangeSeq() != null ? view.getChangeSeq() : 0);
+            table.lsh.put(view.getId(), signatureOf(view));
+        }
+        table.loaded = true;
+    }
+
+    private int[] signatureOf(MemorySignatureView view) {
+        int[] signature = MinHasher.fromBytes(view.getMinhashSignature());
+        if (signature == null) {
+            // Memories created before signatures existed
+            signature = MinHasher.signature(matchingKeywords.keywordsOf(view.getContext(), view.getKeywords()));
+        }
+        return signature;
+    }
+
+    /**
+     * LSH table of a single user
+     */
+    private static class UserTable {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final LshTable lsh = new LshTable();
+        // Change sequence of the last change applied per memory
+        final Map<Long, Long> appliedSeq = new HashMap<>();
+        volatile long lastAccess = System.currentTimeMillis();
+        volatile boolean loaded;
+
+        void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
@@ -1,15 +1,17 @@
 package com.context.memorybook.domain.memory.service;
 
 import com.context.memorybook.domain.memory.model.Memory;
+import com.context.memorybook.domain.memory.repository.MemoryKeywordsView;
 import com.context.memorybook.domain.memory.repository.MemoryRepository;
 import com.context.memorybook.domain.ai.service.ContextExtractionService;
+import com.context.memorybook.infrastructure.metrics.PipelineMetrics;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 public class MemoryMatchingService {
@@ -20,57 +22,62 @@ public class MemoryMatchingService {
     @Autowired
     private ContextExtractionService contextExtractionService;
 
+    @Autowired
+    private MatchingKeywords matchingKeywords;
+
+    @Autowired
+    private MemoryLshIndex memoryLshIndex;
+
+    @Autowired
+    private PipelineMetrics pipelineMetrics;
+
     private static final double SIMILARITY_THRESHOLD = 0.3; // Minimum similarity to consider matching
 
     /**
-     * Find similar memories based on context
-     * Returns memories sorted by relevance score and similarity
+     * Find the most similar memory for already extracted context keywords
+     * Exact Jaccard is only computed for the LSH candidates of the query signature
      */
     @Transactional(readOnly = true)
-    public List<Memory> findSimilarMemories(Long userId, String context) {
-        List<Memory> userMemories = memoryRepository.findByUserId(userId);
-        
-        if (userMemories.isEmpty()) {
-            return List.of();
+    public Memory findMostSimilarMemory(Long userId, Set<String> queryKeywords) {
+        if (queryKeywords.isEmpty()) {
+            return null;
         }
 
-        // Calculate similarity for each memory and filter
-        return userMemories.stream()
-                .map(memory -> {
-                    double similarity = contextExtractionService.calculateSimilarity(
-                            context, 
-                            memory.getContext() + " " + (memory.getKeywords() != null ? memory.getKeywords() : "")
-                    );
-                    return new MemorySimilarity(memory, similarity);
-                })
-                .filter(ms -> ms.similarity >= SIMILARITY_THRESHOLD)
-                .sorted(Comparator
-                        .comparing((MemorySimilarity ms) -> ms.similarity).reversed()
-                        .thenComparing(ms -> ms.memory.getRelevanceScore()).reversed())
-                .map(ms -> ms.memory)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Find the most similar memory
-     */
-    @Transactional(readOnly = true)
-    public Memory findMostSimilarMemory(Long userId, String context) {
-        List<Memory> similarMemories = findSimilarMemories(userId, context);
-        return similarMemories.isEmpty() ? null : similarMemories.get(0);
-    }
+        Timer.Sample loading = pipelineMetrics.start();
+        Set<Long> candidates = memoryLshIndex.candidates(userId, MinHasher.signature(queryKeywords));
+        List<MemoryKeywordsView> views = candidates.isEmpty() ? List.of() : memoryRepository.findKeywordsByIdIn(candidates);
+        pipelineMetrics.stop(loading, PipelineMetrics.CANDIDATES);
 
-    /**
-     * Helper class to store memory with similarity score
-     */
-    private static class MemorySimilarity {
-        Memory memory;
-        double similarity;
+        Timer.Sample scoring = pipelineMetrics.start();
+        MemoryKeywordsView best = null;
+        double bestSimilarity = 0;
+        for (MemoryKeywordsView view : views) {
+            if (!view.getUserId().equals(userId)) {
+                continue;
+            }
+            double similarity = contextExtractionService.calculateSimilarity(
+                    queryKeywords, matchingKeywords.keywordsOf(view.getContext(), view.getKeywords()));
+            if (similarity < SIMILARITY_THRESHOLD) {
+                continue;
+            }
+            if (best == null || similarity > bestSimilarity
+                    || (similarity == bestSimilarity && relevance(view) > relevance(best))) {
+                best = view;
+                bestSimilarity = similarity;
+            }
+        }
+        pipelineMetrics.stop(scoring, PipelineMetrics.SCORING);
+        pipelineMetrics.recordScanned(views.size());
+        pipelineMetrics.recordMatch(best != null);
 
-        MemorySimilarity(Memory memory, double similarity) {
-            this.memory = memory;
-            this.similarity = similarity;
+        if (best == null) {
+            return null;
         }
+        Long bestId = best.getId();
+        return pipelineMetrics.time(PipelineMetrics.LOAD, () -> memoryRepository.findById(bestId).orElse(null));
     }
-}
 
+    private static int relevance(MemoryKeywordsView view) {
+        return view.getRelevanceScore() != null ? view.getRelevanceScore() : 0;
+    }
+}
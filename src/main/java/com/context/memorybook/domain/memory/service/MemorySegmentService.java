@@ -0,0 +1,64 @@
+package com.context.memorybook.domain.memory.service;
+
+import com.context.memorybook.domain.memory.model.Memory;
+import com.context.memorybook.domain.memory.model.MemorySegment;
+import com.context.memorybook.domain.memory.repository.MemorySegmentRepository;
+import com.context.memorybook.infrastructure.search.SearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Append-only storage of memory bodies.
+ * Merging content inserts one segment instead of rewriting the whole body,
+ * and the body is only assembled when a client asks for it.
+ */
+@Service
+public class MemorySegmentService {
+
+    public static final String SEPARATOR = "\n\n---\n\n";
+
+    @Autowired
+    private MemorySegmentRepository memorySegmentRepository;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    /**
+     * Append a piece of body to a memory
+     */
+    @Transactional
+    public void append(Memory memory, Long contentId, String body) {
+        if (body == null || body.isEmpty()) {
+            return;
+        }
+        MemorySegment segment = memorySegmentRepository.save(new MemorySegment(memory.getId(), contentId, body));
+        searchIndex.onSegmentSaved(segment, memory.getUserId());
+    }
+
+    /**
+     * Replace the whole body of a memory, e.g. after a manual edit
+     */
+    @Transactional
+    public void replace(Memory memory, String body) {
+        memorySegmentRepository.deleteByMemoryId(memory.getId());
+        searchIndex.onSegmentsDeleted(memory.getId());
+        append(memory, null, body);
+    }
+
+    /**
+     * Full body of a memory, null if it has none
+     */
+    @Transactional(readOnly = true)
+    public String assemble(Long memoryId) {
+        List<String> bodies = memorySegmentRepository.findBodiesByMemoryId(memoryId);
+        return bodies.isEmpty() ? null : String.join(SEPARATOR, bodies);
+    }
+
+    @Transactional
+    public void delete(Long memoryId) {
+        memorySegmentRepository.deleteByMemoryId(memoryId);
+    }
+}
@@ -1,16 +1,37 @@
 package com.context.memorybook.domain.memory.service;
 
+import com.context.memorybook.common.dto.ChangeWatermark;
+import com.context.memorybook.common.enums.ProcessingStatus;
+import com.context.memorybook.common.enums.SyncEntityType;
+import com.context.memorybook.common.dto.PageResponse;
+import com.context.memorybook.common.util.ETags;
+import com.context.memorybook.common.util.PageCursor;
 import com.context.memorybook.domain.ai.model.Content;
+import com.context.memorybook.domain.ai.model.TextAnalysis;
 import com.context.memorybook.domain.memory.model.Memory;
+import com.context.memorybook.domain.memory.dto.MemoryMergeResult;
+import com.context.memorybook.domain.memory.dto.MemorySummary;
+import com.context.memorybook.domain.memory.model.MemoryContent;
+import com.context.memorybook.domain.memory.model.MemorySegment;
 import com.context.memorybook.domain.memory.model.Tag;
+import com.context.memorybook.domain.memory.repository.MemoryContentRepository;
 import com.context.memorybook.domain.memory.repository.MemoryRepository;
+import com.context.memorybook.domain.memory.repository.MemorySegmentRepository;
 import com.context.memorybook.domain.memory.repository.TagRepository;
+import com.context.memorybook.domain.ai.service.ContentAlreadyProcessedException;
 import com.context.memorybook.domain.ai.service.ContentService;
 import com.context.memorybook.domain.ai.service.ContextExtractionService;
 import com.context.memorybook.domain.ai.service.SuggestionService;
+import com.context.memorybook.domain.sync.service.ChangeSequenceService;
+import com.context.memorybook.infrastructure.metrics.PipelineMetrics;
+import com.context.memorybook.infrastructure.search.SearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -36,8 +57,45 @@ public class MemoryService {
     @Autowired
     private ContentService contentService;
 
+    @Autowired
+    private MemoryContentRepository memoryContentRepository;
+
+    @Autowired
+    private MemorySegmentService memorySegmentService;
+
+    @Autowired
+    private MemorySegmentRepository memorySegmentRepository;
+
+    @Autowired
+    private MemoryLshIndex memoryLshIndex;
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private UserMergeLock userMergeLock;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PipelineMetrics pipelineMetrics;
+
+    @Value("${memorybook.merge.max-attempts:3}")
+    private int maxMergeAttempts;
+
+    @Value("${memorybook.pagination.max-page-size:100}")
+    private int maxPageSize;
+
     @Transactional
     public Memory addMemory(Memory memory){
+        return addMemory(memory, null);
+    }
+
+    private Memory addMemory(Memory memory, Long sourceContentId) {
         Set<Tag> resolvedTags = new HashSet<>();
 
         if (memory.getTags() != null) {
@@ -50,6 +108,7 @@ public class MemoryService {
             }
         }
         memory.setTags(resolvedTags);
+        memory.setVersion(null);
         
         // Extract keywords if not provided
         if (memory.getKeywords() == null || memory.getKeywords().isEmpty()) {
@@ -64,77 +123,168 @@ public class MemoryService {
             memory.setRelevanceScore(1);
         }
         
+        memory.setSummaryState(suggestionService.summaryStateOf(memory.getContent()));
         memory.setCreatedAt(LocalDateTime.now());
         memory.setUpdatedAt(LocalDateTime.now());
 
-        return memoryRepository.save(memory);
+        memoryLshIndex.sign(memory);
+        memory.setChangeSeq(changeSequenceService.next(memory.getUserId()));
+        Memory savedMemory = memoryRepository.save(memory);
+        memorySegmentService.append(savedMemory, sourceContentId, memory.getContent());
+        memoryLshIndex.onMemorySaved(savedMemory);
+        searchIndex.onMemorySaved(savedMemory);
+        return savedMemory;
+    }
+
+    /**
+     * Get a memory of the user including its full body and related content, null if the user has no such memory
+     */
+    @Transactional(readOnly = true)
+    public Memory getMemory(Long id, Long userId) {
+        Memory memory = memoryRepository.findByIdAndUserId(id, userId).orElse(null);
+        if (memory != null) {
+            memory.setContent(memorySegmentService.assemble(id));
+            memory.setRelatedContentIds(relatedContentIds(id));
+        }
+        return memory;
+    }
+
+    /**
+     * ETag of a memory of the user, read without loading the memory; null if the user has no such memory
+     */
+    @Transactional(readOnly = true)
+    public String getMemoryETag(Long id, Long userId) {
+        return memoryRepository.findVersionByIdAndUserId(id, userId)
+                .map(version -> ETags.of("memory", id, version.getVersion(), version.getUpdatedAt()))
+                .orElse(null);
+    }
+
+    public String getMemoryETag(Memory memory) {
+        return ETags.of("memory", memory.getId(), memory.getVersion(), memory.getUpdatedAt());
+    }
+
+    /**
+     * ETag of a page of the user's memories: changes with any of their memories or the page parameters
+     */
+    @Transactional(readOnly = true)
+    public String getMemoryPageETag(Long userId, String cursor, int limit, Set<String> fields) {
+        ChangeWatermark watermark = memoryRepository.findWatermarkByUserId(userId);
+        return ETags.of("memories", watermark.getCount(), watermark.getUpdatedAt(),
+                cursor, pageSize(limit), fields == null ? null : new TreeSet<>(fields));
     }
 
     /**
      * Smart memory creation/update based on shared content
      * This is the core feature: finds similar memory or creates new one
      */
-    @Transactional
-    public Memory createOrUpdateMemoryFromContent(Long userId, Content content) {
-        String extractedContext = content.getExtractedContext();
-        if (extractedContext == null || extractedContext.isEmpty()) {
-            extractedContext = contextExtractionService.extractContext(
-                    content.getTitle(), content.getDescription(), content.getTextContent()
-            );
-            content.setExtractedContext(extractedContext);
+    public MemoryMergeResult createOrUpdateMemoryFromContent(Long userId, Content content) {
+        return createOrUpdateMemoryFromContent(userId, content, analyze(content));
+    }
+
+    /**
+     * Smart memory creation/update for content that has already been analysed
+     * Merges of one user are serialized so concurrent shares cannot lose appends or create
+     * duplicate memories for the same topic; a merge that still hits a concurrent manual
+     * update (optimistic version check) is retried a bounded number of times.
+     */
+    public MemoryMergeResult createOrUpdateMemoryFromContent(Long userId, Content content, TextAnalysis analysis) {
+        return userMergeLock.withLock(userId, () -> {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> mergeAndMarkProcessed(userId, content, analysis));
+                } catch (OptimisticLockingFailureException e) {
+                    if (attempt >= maxMergeAttempts) {
+                        throw e;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Merge content into a memory and mark it as processed, in one transaction
+     */
+    private MemoryMergeResult mergeAndMarkProcessed(Long userId, Content content, TextAnalysis analysis) {
+        // Another worker may have merged it while this one waited for the merge lock
+        if (content.getId() != null && content.getProcessingStatus() != null
+                && contentService.getContentStatus(content.getId(), userId).getProcessingStatus() == ProcessingStatus.COMPLETED) {
+            throw new ContentAlreadyProcessedException("Content " + content.getId() + " has already been processed");
+        }
+        if (content.getExtractedContext() == null || content.getExtractedContext().isEmpty()) {
+            content.setExtractedContext(analysis.getContext());
+        }
+        if (content.getKeywords() == null) {
+            content.setKeywords(String.join(", ", analysis.getKeywords()));
         }
 
+        MemoryMergeResult result = mergeContent(userId, content, analysis);
+        Memory memory = result.getMemory();
+
+        // Content shared before processing was tracked has no status and is not marked
+        if (content.getId() != null && content.getProcessingStatus() != null
+                && !contentService.markProcessed(content, memory.getId())) {
+            throw new ContentAlreadyProcessedException("Content " + content.getId() + " has already been processed");
+        }
+        memory.setRelatedContentIds(relatedContentIds(memory.getId()));
+        return result;
+    }
+
+    private MemoryMergeResult mergeContent(Long userId, Content content, TextAnalysis analysis) {
         // Find similar memory
-        Memory similarMemory = memoryMatchingService.findMostSimilarMemory(userId, extractedContext);
+        Memory similarMemory = memoryMatchingService.findMostSimilarMemory(userId,
+                new HashSet<>(analysis.getContextKeywords()));
 
         if (similarMemory != null) {
             // Update existing memory with new content
-            return updateMemoryWithContent(similarMemory.getId(), userId, content);
+            return new MemoryMergeResult(pipelineMetrics.time(PipelineMetrics.MERGE,
+                    () -> updateMemoryWithContent(similarMemory.getId(), userId, content, analysis)), false);
         } else {
-            // Create new memory
-            Memory newMemory = new Memory();
-            newMemory.setUserId(userId);
-            newMemory.setContext(extractedContext);
-            newMemory.setContent(content.getTitle() + "\n" + 
-                               (content.getDescription() != null ? content.getDescription() : "") + "\n" +
-                               (content.getTextContent() != null ? content.getTextContent() : ""));
-            newMemory.setType("Content");
-            
-            // Extract keywords
-            List<String> keywords = contextExtractionService.extractKeywords(
-                    content.getTitle() + " " + 
-                    (content.getDescription() != null ? content.getDescription() : "") + " " +
-                    (content.getTextContent() != null ? content.getTextContent() : "")
-            );
-            newMemory.setKeywords(String.join(", ", keywords));
-            
-            // Generate summary
-            String summary = contextExtractionService.generateSummary(
-                    newMemory.getContent(), 200
-            );
-            newMemory.setSummary(summary);
-            
-            // Set related content ID
-            newMemory.setRelatedContentIds(String.valueOf(content.getId()));
-            newMemory.setRelevanceScore(1);
-            newMemory.setLastRelatedContentAt(LocalDateTime.now());
-            
-            Memory savedMemory = addMemory(newMemory);
-            
-            // Generate suggestions
-            String suggestions = suggestionService.generateSuggestions(savedMemory, 
-                    Collections.singletonList(content.getTitle()));
-            savedMemory.setSuggestions(suggestions);
-            
-            return memoryRepository.save(savedMemory);
+            return new MemoryMergeResult(pipelineMetrics.time(PipelineMetrics.CREATE,
+                    () -> createMemoryFromContent(userId, content, analysis)), true);
         }
     }
 
+    private Memory createMemoryFromContent(Long userId, Content content, TextAnalysis analysis) {
+        Memory newMemory = new Memory();
+        newMemory.setUserId(userId);
+        newMemory.setContext(analysis.getContext());
+        newMemory.setContent(analysis.getBody());
+        newMemory.setType("Content");
+        newMemory.setKeywords(String.join(", ", analysis.getKeywords()));
+
+        // Generate summary
+        String summary = pipelineMetrics.time(PipelineMetrics.SUMMARY,
+                () -> contextExtractionService.generateSummary(analysis, SuggestionService.SUMMARY_MAX_LENGTH));
+        newMemory.setSummary(summary);
+
+        newMemory.setRelevanceScore(1);
+        newMemory.setLastRelatedContentAt(LocalDateTime.now());
+
+        Memory savedMemory = addMemory(newMemory, content.getId());
+        memoryContentRepository.save(new MemoryContent(savedMemory.getId(), content.getId()));
+
+        // Generate suggestions
+        String suggestions = pipelineMetrics.time(PipelineMetrics.SUGGESTIONS,
+                () -> suggestionService.generateSuggestions(savedMemory, Collections.singletonList(content.getTitle())));
+        savedMemory.setSuggestions(suggestions);
+
+        pipelineMetrics.recordMemory(analysis.getBody().length(), 1, analysis.getKeywords().size());
+        return memoryRepository.save(savedMemory);
+    }
+
     /**
      * Update existing memory with new related content
      */
     @Transactional
     public Memory updateMemoryWithContent(Long memoryId, Long userId, Content content) {
+        return updateMemoryWithContent(memoryId, userId, content, analyze(content));
+    }
+
+    /**
+     * Update existing memory with new related content that has already been analysed
+     */
+    @Transactional
+    public Memory updateMemoryWithContent(Long memoryId, Long userId, Content content, TextAnalysis analysis) {
         Memory memory = memoryRepository.findById(memoryId)
                 .orElseThrow(() -> new RuntimeException("Memory not found"));
         
@@ -144,79 +294,90 @@ public class MemoryService {
         }
 
         // Update content with new information
-        String newContent = content.getTitle() + "\n" + 
-                           (content.getDescription() != null ? content.getDescription() : "") + "\n" +
-                           (content.getTextContent() != null ? content.getTextContent() : "");
-        
-        String updatedContent = memory.getContent() != null 
-                ? memory.getContent() + "\n\n---\n\n" + newContent
-                : newContent;
+        String newContent = analysis.getBody();
         
-        memory.setContent(updatedContent);
+        // Memories stored before summary states existed get one from their body once
+        if (memory.getSummaryState() == null) {
+            memory.setSummaryState(suggestionService.summaryStateOf(memorySegmentService.assemble(memoryId)));
+        }
+
+        // Append the new content as its own segment
+        memorySegmentService.append(memory, content.getId(), newContent);
         
-        // Update context with merged information
-        String newContext = contextExtractionService.extractContext(
-                content.getTitle(), content.getDescription(), content.getTextContent()
-        );
-        memory.setContext(memory.getContext() + ", " + newContext);
+        // Update context with merged information, each term only once
+        memory.setContext(mergeTerms(memory.getContext(), analysis.getContext()));
         
         // Update keywords
         List<String> existingKeywords = memory.getKeywords() != null 
                 ? Arrays.asList(memory.getKeywords().split(",\\s*"))
                 : new ArrayList<>();
-        List<String> newKeywords = contextExtractionService.extractKeywords(
-                content.getTitle() + " " + 
-                (content.getDescription() != null ? content.getDescription() : "") + " " +
-                (content.getTextContent() != null ? content.getTextContent() : "")
-        );
         Set<String> mergedKeywords = new HashSet<>(existingKeywords);
-        mergedKeywords.addAll(newKeywords);
+        mergedKeywords.addAll(analysis.getKeywords());
         memory.setKeywords(String.join(", ", mergedKeywords));
         
-        // Update related content IDs
-        String relatedIds = memory.getRelatedContentIds() != null 
-                ? memory.getRelatedContentIds() + "," + content.getId()
-                : String.valueOf(content.getId());
-        memory.setRelatedContentIds(relatedIds);
+        // Link the new content
+        memoryContentRepository.save(new MemoryContent(memory.getId(), content.getId()));
         
         // Increment relevance score
         memory.setRelevanceScore(memory.getRelevanceScore() + 1);
         memory.setLastRelatedContentAt(LocalDateTime.now());
         
-        // Regenerate summary
-        String summary = suggestionService.generateSummary(memory, newContent);
+        // Update summary
+        String summary = pipelineMetrics.time(PipelineMetrics.SUMMARY,
+                () -> suggestionService.generateSummary(memory, newContent));
         memory.setSummary(summary);
         
         // Get related content titles for suggestions
-        List<String> relatedTitles = getRelatedContentTitles(memory);
-        String suggestions = suggestionService.generateSuggestions(memory, relatedTitles);
+        String suggestions = pipelineMetrics.time(PipelineMetrics.SUGGESTIONS,
+                () -> suggestionService.generateSuggestions(memory, getRelatedContentTitles(memory)));
         memory.setSuggestions(suggestions);
+
+        pipelineMetrics.recordMemory(newContent.length(), memory.getRelevanceScore(), mergedKeywords.size());
         
         memory.setUpdatedAt(LocalDateTime.now());
-        return memoryRepository.save(memory);
+        memoryLshIndex.sign(memory);
+        memory.setChangeSeq(changeSequenceService.next(memory.getUserId()));
+        Memory savedMemory = memoryRepository.save(memory);
+        memoryLshIndex.onMemorySaved(savedMemory);
+        searchIndex.onMemorySaved(savedMemory);
+        return savedMemory;
+    }
+
+    private String mergeTerms(String existing, String added) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String value : new String[]{existing, added}) {
+            if (value != null) {
+                for (String term : value.split(",\\s*")) {
+                    if (!term.isBlank()) {
+                        terms.add(term.trim());
+                    }
+                }
+            }
+        }
+        return String.join(", ", terms);
+    }
+
+    private TextAnalysis analyze(Content content) {
+        return pipelineMetrics.time(PipelineMetrics.EXTRACTION, () -> contextExtractionService.analyze(
+                content.getTitle(), content.getDescription(), content.getTextContent()
+        ));
+    }
+
+    /**
+     * Comma-separated ids of the content linked to a memory, in the order it was merged
+     */
+    private String relatedContentIds(Long memoryId) {
+        List<Long> contentIds = memoryContentRepository.findContentIdsByMemoryId(memoryId);
+        return contentIds.isEmpty() ? null
+                : contentIds.stream().map(String::valueOf).collect(Collectors.joining(","));
     }
 
     /**
-     * Get titles of related content
+     * Get titles of related content, only as many as suggestions show
      */
     private List<String> getRelatedContentTitles(Memory memory) {
-        if (memory.getRelatedContentIds() == null || memory.getRelatedContentIds().isEmpty()) {
-            return Collections.emptyList();
-        }
-        
-        return Arrays.stream(memory.getRelatedContentIds().split(","))
-                .map(String::trim)
-                .filter(id -> !id.isEmpty())
-                .map(id -> {
-                    try {
-                        Content content = contentService.getContentById(Long.parseLong(id));
-                        return content.getTitle();
-                    } catch (Exception e) {
-                        return null;
-                    }
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+        return memoryContentRepository.findRelatedTitles(memory.getId(),
+                PageRequest.of(0, SuggestionService.MAX_RELATED_TITLES));
     }
 
     @Transactional(readOnly = true)
@@ -224,14 +385,116 @@ public class MemoryService {
         return memoryRepository.findByUserId(userId);
     }
 
+    /**
+     * One page of the user's memories, most recently updated first
+     * Only summary columns are read unless heavy fields are requested
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<MemorySummary> getMemoryPage(Long userId, String cursor, int limit, Set<String> fields) {
+        int pageSize = pageSize(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<MemorySummary> rows = after == null
+                ? memoryRepository.findSummaries(userId, page)
+                : memoryRepository.findSummariesAfter(userId, after.getUpdatedAt(), after.getId(), page);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            MemorySummary last = rows.get(pageSize - 1);
+            nextCursor = PageCursor.encode(last.getUpdatedAt(), last.getId());
+        }
+        fillFields(rows, fields);
+        return new PageResponse<>(rows, nextCursor);
+    }
+
     @Transactional(readOnly = true)
     public List<Memory> getMemoriesByContext(Long userId, String context) {
         return memoryRepository.findByUserIdAndContextIgnoreCase(userId, context);
     }
 
+    /**
+     * Full-text search over the user's memories, best match first
+     */
     @Transactional(readOnly = true)
-    public List<Memory> searchMemories(Long userId, String query) {
-        return memoryRepository.searchByContentOrContext(userId, query);
+    public PageResponse<MemorySummary> searchMemories(Long userId, String query, String cursor, int limit,
+                                                      Set<String> fields) {
+        List<Long> ids = searchIndex.searchMemories(userId, query);
+        int pageSize = pageSize(limit);
+        int from = Math.min(PageCursor.decodeOffset(cursor), ids.size());
+        int to = Math.min(from + pageSize, ids.size());
+
+        Map<Long, MemorySummary> summaries = new HashMap<>();
+        if (from < to) {
+            for (MemorySummary summary : memoryRepository.findSummariesByIdIn(userId, ids.subList(from, to))) {
+                summaries.put(summary.getId(), summary);
+            }
+        }
+        List<MemorySummary> rows = new ArrayList<>(summaries.size());
+        for (Long id : ids.subList(from, to)) {
+            MemorySummary summary = summaries.get(id);
+            if (summary != null) {
+                rows.add(summary);
+            }
+        }
+        fillFields(rows, fields);
+        return new PageResponse<>(rows, to < ids.size() ? PageCursor.encodeOffset(to) : null);
+    }
+
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+    /**
+     * Load the requested heavy fields for a page of summaries
+     */
+    private void fillFields(List<MemorySummary> rows, Set<String> fields) {
+        if (fields == null || fields.isEmpty() || rows.isEmpty()) {
+            return;
+        }
+        for (String field : fields) {
+            if (!MemorySummary.OPTIONAL_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+        }
+
+        List<Long> ids = rows.stream().map(MemorySummary::getId).toList();
+        if (fields.contains("content")) {
+            Map<Long, List<String>> bodies = new HashMap<>();
+            for (MemorySegment segment : memorySegmentRepository.findByMemoryIdInOrderByMemoryIdAscIdAsc(ids)) {
+                bodies.computeIfAbsent(segment.getMemoryId(), id -> new ArrayList<>()).add(segment.getBody());
+            }
+            rows.forEach(row -> row.setContent(bodies.containsKey(row.getId())
+                    ? String.join(MemorySegmentService.SEPARATOR, bodies.get(row.getId())) : null));
+        }
+        if (fields.contains("relatedContentIds")) {
+            Map<Long, List<String>> contentIds = new HashMap<>();
+            for (MemoryContent link : memoryContentRepository.findByMemoryIdInOrderByIdAsc(ids)) {
+                contentIds.computeIfAbsent(link.getMemoryId(), id -> new ArrayList<>())
+                        .add(String.valueOf(link.getContentId()));
+            }
+            rows.forEach(row -> row.setRelatedContentIds(contentIds.containsKey(row.getId())
+                    ? String.join(",", contentIds.get(row.getId())) : null));
+        }
+        if (fields.contains("keywords") || fields.contains("suggestions") || fields.contains("tags")) {
+            Map<Long, Memory> memories = new HashMap<>();
+            memoryRepository.findAllById(ids).forEach(memory -> memories.put(memory.getId(), memory));
+            for (MemorySummary row : rows) {
+                Memory memory = memories.get(row.getId());
+                if (memory == null) {
+                    continue;
+                }
+                if (fields.contains("keywords")) {
+                    row.setKeywords(memory.getKeywords());
+                }
+                if (fields.contains("suggestions")) {
+                    row.setSuggestions(memory.getSuggestions());
+                }
+                if (fields.contains("tags")) {
+                    row.setTags(memory.getTags());
+                }
+            }
+        }
     }
 
     @Transactional
@@ -243,6 +506,8 @@ public class MemoryService {
             }
             
             memory.setContent(updatedMemory.getContent());
+            memorySegmentService.replace(memory, updatedMemory.getContent());
+            memory.setSummaryState(suggestionService.summaryStateOf(updatedMemory.getContent()));
             memory.setContext(updatedMemory.getContext());
             memory.setType(updatedMemory.getType());
             
@@ -260,7 +525,13 @@ public class MemoryService {
             }
             
             memory.setUpdatedAt(LocalDateTime.now());
-            return memoryRepository.save(memory);
+            memoryLshIndex.sign(memory);
+            memory.setChangeSeq(changeSequenceService.next(memory.getUserId()));
+            Memory savedMemory = memoryRepository.save(memory);
+            memoryLshIndex.onMemorySaved(savedMemory);
+            searchIndex.onMemorySaved(savedMemory);
+            savedMemory.setRelatedContentIds(relatedContentIds(id));
+            return savedMemory;
         }).orElseThrow(() -> new RuntimeException("Memory not found"));
     }
 
@@ -274,6 +545,11 @@ public class MemoryService {
             throw new SecurityException("Not authorized to delete this memory");
         }
         
+        memoryContentRepository.deleteByMemoryId(id);
+        memorySegmentService.delete(id);
         memoryRepository.deleteById(id);
+        changeSequenceService.recordDeletion(userId, SyncEntityType.MEMORY, id);
+        memoryLshIndex.onMemoryDeleted(userId, id);
+        searchIndex.onMemoryDeleted(id);
     }
 }
@@ -0,0 +1,111 @@
+package com.context.memorybook.domain.memory.service;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * MinHash signatures of keyword sets.
+ * The fraction of equal signature slots of two sets estimates their Jaccard similarity,
+ * which is what memory matching computes exactly. Hash functions are derived from fixed
+ * seeds so signatures stored in the database stay valid across restarts.
+ */
+public final class MinHasher {
+
+    public static final int NUM_HASHES = 128;
+    public static final int BANDS = 64;
+    public static final int ROWS_PER_BAND = NUM_HASHES / BANDS;
+
+    private static final long[] SEEDS = new long[NUM_HASHES];
+
+    static {
+        for (int i = 0; i < NUM_HASHES; i++) {
+            SEEDS[i] = mix(0x9E3779B97F4A7C15L * (i + 1));
+        }
+    }
+
+    private MinHasher() {
+    }
+
+    /**
+     * Signature of a keyword set; empty sets get a signature that matches nothing
+     */
+    public static int[] signature(Set<String> keywords) {
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String keyword : keywords) {
+            long base = keyword.hashCode();
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int h = (int) (mix(base ^ SEEDS[i]) >>> 33);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * LSH bucket keys of a signature, one per band
+     * Two sets with Jaccard similarity s share at least one bucket with probability
+     * 1 - (1 - s^ROWS_PER_BAND)^BANDS (about 0.998 at the 0.3 matching threshold)
+     */
+    public static long[] bandKeys(int[] signature) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long h = band;
+            for (int row = 0; row < ROWS_PER_BAND; row++) {
+                h = h * 31 + signature[band * ROWS_PER_BAND + row];
+            }
+            keys[band] = mix(h);
+        }
+        return keys;
+    }
+
+    /**
+     * Estimated Jaccard similarity of two signatures
+     */
+    public static double estimateSimilarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(NUM_HASHES * Integer.BYTES);
+        for (int value : signature) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Signature stored in the database, or null if it is missing or from another configuration
+     */
+    public static int[] fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != NUM_HASHES * Integer.BYTES) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int[] signature = new int[NUM_HASHES];
+        for (int i = 0; i < NUM_HASHES; i++) {
+            signature[i] = buffer.getInt();
+        }
+        return signature;
+    }
+
+    public static boolean isEmpty(int[] signature) {
+        return signature[0] == Integer.MAX_VALUE;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
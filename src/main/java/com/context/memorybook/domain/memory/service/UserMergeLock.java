@@ -0,0 +1,49 @@
+package com.context.memorybook.domain.memory.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped per-user lock that serializes memory merges of one user
+ * while merges of different users still run in parallel.
+ */
+@Component
+public class UserMergeLock {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMs;
+
+    public UserMergeLock(@Value("${memorybook.merge.lock-stripes:256}") int stripeCount,
+                         @Value("${memorybook.merge.lock-timeout-ms:30000}") long timeoutMs) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Run an action while holding the lock of the user's stripe
+     */
+    public <T> T withLock(Long userId, Supplier<T> action) {
+        ReentrantLock lock = stripes[Math.floorMod(userId.hashCode(), stripes.length)];
+        try {
+            if (!lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the memory merge lock");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the memory merge lock", e);
+        }
+
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
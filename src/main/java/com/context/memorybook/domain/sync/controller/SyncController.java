@@ -0,0 +1,60 @@
+package com.context.memorybook.domain.sync.controller;
+
+import com.context.memorybook.domain.sync.service.SyncService;
+import com.context.memorybook.domain.user.model.User;
+import com.context.memorybook.infrastructure.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    /**
+     * Memories and content created, updated or deleted after the cursor
+     * Start without since; then pass nextCursor back, and sync again right away while hasMore is true
+     */
+    @GetMapping
+    public ResponseEntity<?> sync(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int limit,
+            Authentication authentication) {
+        Long userId = getUserIdFromAuthentication(authentication);
+        try {
+            return ResponseEntity.ok(syncService.changesSince(userId, since, limit));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    private Long getUserIdFromAuthentication(Authentication authentication) {
+        if (authentication == null || authentication.getPrincipal() == null) {
+            throw new SecurityException("User not authenticated");
+        }
+
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        UserPrincipal userPrincipal = (UserPrincipal) userDetails;
+
+        User user = userPrincipal.getUser();
+
+        if (user == null) {
+            throw new SecurityException("User not found");
+        }
+
+        return user.getId();
+    }
+}
@@ -0,0 +1,14 @@
+package com.context.memorybook.domain.sync.dto;
+
+import com.context.memorybook.common.enums.SyncEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeletedItem {
+    private SyncEntityType type;
+    private Long id;
+}
@@ -0,0 +1,20 @@
+package com.context.memorybook.domain.sync.dto;
+
+import com.context.memorybook.domain.ai.dto.ContentSummary;
+import com.context.memorybook.domain.memory.dto.MemorySummary;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+    private List<MemorySummary> memories; // Created or updated since the cursor
+    private List<ContentSummary> contents; // Created or updated since the cursor
+    private List<DeletedItem> deleted;
+    private String nextCursor; // Pass back as since on the next sync
+    private boolean hasMore; // More changes are waiting; sync again right away
+}
@@ -0,0 +1,25 @@
+package com.context.memorybook.domain.sync.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-user change counter; memories, content and tombstones are stamped with its values
+ */
+@Entity
+@Table(name = "change_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeSequence {
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long lastSeq; // Last number handed out
+}
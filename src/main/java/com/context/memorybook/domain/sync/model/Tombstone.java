@@ -0,0 +1,47 @@
+package com.context.memorybook.domain.sync.model;
+
+import com.context.memorybook.common.enums.SyncEntityType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted row, so sync clients learn about the deletion
+ */
+@Entity
+@Table(name = "sync_tombstones", indexes = {
+        @Index(name = "idx_sync_tombstones_user_seq", columnList = "userId, changeSeq")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Tombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SyncEntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private Long changeSeq;
+
+    private LocalDateTime deletedAt = LocalDateTime.now();
+
+    public Tombstone(Long userId, SyncEntityType entityType, Long entityId, Long changeSeq) {
+        this.userId = userId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.changeSeq = changeSeq;
+    }
+}
@@ -0,0 +1,10 @@
+package com.context.memorybook.domain.sync.repository;
+
+/**
+ * Id and change sequence number of a changed row
+ */
+public interface ChangeView {
+    Long getId();
+
+    Long getChangeSeq();
+}
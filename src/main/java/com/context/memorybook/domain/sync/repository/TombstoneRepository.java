@@ -0,0 +1,14 @@
+package com.context.memorybook.domain.sync.repository;
+
+import com.context.memorybook.domain.sync.model.Tombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+    List<Tombstone> findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(Long userId, Long changeSeq,
+                                                                          Pageable pageable);
+}
@@ -0,0 +1,89 @@
+package com.context.memorybook.domain.sync.service;
+
+import com.context.memorybook.common.enums.SyncEntityType;
+import com.context.memorybook.domain.sync.model.Tombstone;
+import com.context.memorybook.domain.sync.repository.TombstoneRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Hands out per-user change sequence numbers for the sync feed.
+ * Taking a number locks the user's counter row until the transaction ends, so the
+ * changes of one user commit in sequence order and a client that has seen number n
+ * can never later find a committed change numbered below n.
+ */
+@Service
+public class ChangeSequenceService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    private final TransactionTemplate newTransaction;
+
+    public ChangeSequenceService(PlatformTransactionManager transactionManager) {
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next(Long userId) {
+        return next(userId, 1);
+    }
+
+    /**
+     * Reserve count numbers for the user and return the last of them
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next(Long userId, int count) {
+        Long last = increment(userId, count);
+        if (last == null) {
+            createCounter(userId);
+            last = increment(userId, count);
+        }
+        return last;
+    }
+
+    /**
+     * Leave a tombstone for a deleted row
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(Long userId, SyncEntityType entityType, Long entityId) {
+        tombstoneRepository.save(new Tombstone(userId, entityType, entityId, next(userId)));
+    }
+
+    private Long increment(Long userId, int count) {
+        int updated = jdbcTemplate.update(
+                "UPDATE change_sequences SET last_seq = last_seq + ? WHERE user_id = ?", count, userId);
+        if (updated == 0) {
+            return null;
+        }
+        List<Long> last = jdbcTemplate.queryForList(
+                "SELECT last_seq FROM change_sequences WHERE user_id = ?", Long.class, userId);
+        return last.get(0);
+    }
+
+    /**
+     * Create the user's counter in its own transaction, so a concurrent creation does not
+     * abort the caller's transaction
+     */
+    private void createCounter(Long userId) {
+        try {
+            newTransaction.executeWithoutResult(status -> jdbcTemplate.update(
+                    "INSERT INTO change_sequences (user_id, last_seq) VALUES (?, 0)", userId));
+        } catch (DataIntegrityViolationException e) {
+            // Created by a concurrent transaction
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.context.memorybook.domain.sync.service;
+
+import com.context.memorybook.domain.ai.dto.ContentSummary;
+import com.context.memorybook.domain.ai.repository.ContentRepository;
+import com.context.memorybook.domain.memory.dto.MemorySummary;
+import com.context.memorybook.domain.memory.repository.MemoryRepository;
+import com.context.memorybook.domain.sync.dto.DeletedItem;
+import com.context.memorybook.domain.sync.dto.SyncResponse;
+import com.context.memorybook.domain.sync.model.Tombstone;
+import com.context.memorybook.domain.sync.repository.ChangeView;
+import com.context.memorybook.domain.sync.repository.TombstoneRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Change feed for clients that keep a local copy of the memory book.
+ * Every change of a user's memories and content is stamped with the next number of the
+ * user's change sequence, and deletions leave tombstones, so a sync reads only the rows
+ * changed after the client's cursor through the (userId, changeSeq) indexes.
+ */
+@Service
+public class SyncService {
+
+    @Autowired
+    private MemoryRepository memoryRepository;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @Value("${memorybook.pagination.max-page-size:100}")
+    private int maxPageSize;
+
+    /**
+     * Up to limit changes after the cursor, oldest first
+     * A row changed several times is returned once, in its latest state
+     */
+    @Transactional(readOnly = true)
+    public SyncResponse changesSince(Long userId, String since, int limit) {
+        long after = parseCursor(since);
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        List<ChangeView> memoryChanges = memoryRepository.findChangesAfter(userId, after, page);
+        List<ChangeView> contentChanges = contentRepository.findChangesAfter(userId, after, page);
+        List<Tombstone> tombstones = tombstoneRepository
+                .findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(userId, after, page);
+
+        // Merge the three ordered lists and keep the first pageSize changes
+        List<Long> memoryIds = new ArrayList<>();
+        List<Long> contentIds = new ArrayList<>();
+        List<DeletedItem> deleted = new ArrayList<>();
+        int m = 0;
+        int c = 0;
+        int t = 0;
+        long lastSeq = after;
+        int taken = 0;
+        while (taken < pageSize) {
+            long memorySeq = m < memoryChanges.size() ? memoryChanges.get(m).getChangeSeq() : Long.MAX_VALUE;
+            long contentSeq = c < contentChanges.size() ? contentChanges.get(c).getChangeSeq() : Long.MAX_VALUE;
+            long tombstoneSeq = t < tombstones.size() ? tombstones.get(t).getChangeSeq() : Long.MAX_VALUE;
+            long next = Math.min(memorySeq, Math.min(contentSeq, tombstoneSeq));
+            if (next == Long.MAX_VALUE) {
+                break;
+            }
+            if (next == memorySeq) {
+                memoryIds.add(memoryChanges.get(m++).getId());
+            } else if (next == contentSeq) {
+                contentIds.add(contentChanges.get(c++).getId());
+            } else {
+                Tombstone tombstone = tombstones.get(t++);
+                deleted.add(new DeletedItem(tombstone.getEntityType(), tombstone.getEntityId()));
+            }
+            lastSeq = next;
+            taken++;
+        }
+        boolean hasMore = m < memoryChanges.size() || c < contentChanges.size() || t < tombstones.size();
+
+        return new SyncResponse(
+                memorySummaries(userId, memoryIds),
+                contentSummaries(userId, contentIds),
+                deleted,
+                String.valueOf(lastSeq),
+                hasMore
+        );
+    }
+
+    private List<MemorySummary> memorySummaries(Long userId, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, MemorySummary> byId = new HashMap<>();
+        for (MemorySummary summary : memoryRepository.findSummariesByIdIn(userId, ids)) {
+            byId.put(summary.getId(), summary);
+        }
+        List<MemorySummary> summaries = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (byId.containsKey(id)) {
+                summaries.add(byId.get(id));
+            }
+        }
+        return summaries;
+    }
+
+    private List<ContentSummary> contentSummaries(Long userId, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, ContentSummary> byId = new HashMap<>();
+        for (ContentSummary summary : contentRepository.findSummariesByIdIn(userId, ids)) {
+            byId.put(summary.getId(), summary);
+        }
+        List<ContentSummary> summaries = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (byId.containsKey(id)) {
+                summaries.add(byId.get(id));
+            }
+        }
+        return summaries;
+    }
+
+    private long parseCursor(String since) {
+        if (since == null || since.isBlank()) {
+            return 0;
+        }
+        try {
+            long after = Long.parseLong(since.trim());
+            if (after < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return after;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
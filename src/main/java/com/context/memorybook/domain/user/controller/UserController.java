@@ -2,10 +2,17 @@ package com.context.memorybook.domain.user.controller;
 
 import com.context.memorybook.domain.user.model.User;
 import com.context.memorybook.infrastructure.security.JwtService;
+import com.context.memorybook.infrastructure.security.LoginThrottle;
+import com.context.memorybook.infrastructure.security.PasswordHashingRejectedException;
+import com.context.memorybook.infrastructure.security.UserPrincipal;
 import com.context.memorybook.domain.user.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +21,9 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/auth")
 public class UserController {
 
+    // Seconds a client should wait when password hashing is saturated
+    private static final String HASHING_RETRY_AFTER = "1";
+
     @Autowired
     private UserService userService;
 
@@ -23,25 +33,57 @@ public class UserController {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private LoginThrottle loginThrottle;
+
     @PostMapping("/signup")
     public ResponseEntity<String> signup(@RequestBody User user){
-        String response = userService.registerUser(user);
+        String response;
+        try {
+            response = userService.registerUser(user);
+        } catch (PasswordHashingRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, HASHING_RETRY_AFTER)
+                    .body(e.getMessage());
+        }
         if(response.contains("exists")){
             return ResponseEntity.badRequest().body(response);
         }
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Returns 429 when the client or account made too many attempts,
+     * and 503 when password hashing is saturated
+     */
     @PostMapping("/login")
-    public String login(@RequestBody User user)
+    public ResponseEntity<String> login(@RequestBody User user, HttpServletRequest request)
     {
-        Authentication authentication = authenticationManager
-                .authenticate(new UsernamePasswordAuthenticationToken(user.getUsername(), user.getPassword()));
+        if (!loginThrottle.tryAcquire(request.getRemoteAddr(), user.getUsername())) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(loginThrottle.retryAfterSeconds()))
+                    .body("Too many login attempts, try again later");
+        }
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager
+                    .authenticate(new UsernamePasswordAuthenticationToken(user.getUsername(), user.getPassword()));
+        } catch (BadCredentialsException e) {
+            loginThrottle.recordFailure(user.getUsername());
+            throw e;
+        } catch (PasswordHashingRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, HASHING_RETRY_AFTER)
+                    .body(e.getMessage());
+        }
 
-        if(authentication.isAuthenticated())
-            return jwtService.generateToken(user.getUsername());
+        if(authentication.isAuthenticated()) {
+            loginThrottle.recordSuccess(user.getUsername());
+            return ResponseEntity.ok(jwtService.generateToken(((UserPrincipal) authentication.getPrincipal()).getUser()));
+        }
         else
-            return "Login failure";
+            return ResponseEntity.ok("Login failure");
     }
 
 }
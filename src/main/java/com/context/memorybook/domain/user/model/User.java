@@ -1,6 +1,7 @@
 package com.context.memorybook.domain.user.model;
 
 import com.context.memorybook.common.enums.Role;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.security.core.GrantedAuthority;
@@ -33,6 +34,7 @@ public class User implements UserDetails {
     private String password;
 
     @Enumerated(EnumType.STRING)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY) // Never taken from a signup or login body
     private Role role = Role.USER;
     private LocalDateTime createdAt;
 
@@ -3,8 +3,9 @@ package com.context.memorybook.domain.user.service;
 import com.context.memorybook.common.enums.Role;
 import com.context.memorybook.domain.user.model.User;
 import com.context.memorybook.domain.user.repository.UserRepository;
+import com.context.memorybook.infrastructure.security.PasswordHashingService;
+import com.context.memorybook.infrastructure.security.PrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -14,17 +15,21 @@ public class UserService {
     private UserRepository userRepository;
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordEncoder;
+
+    @Autowired
+    private PrincipalCache principalCache;
 
     public String registerUser(User user){
         if(userRepository.existsByEmail(user.getEmail())){
             return "Email Already Existed";
         }
-        if (user.getRole() == null) {
-            user.setRole(Role.USER); // ensure default role
-        }
+        // Signup only creates regular accounts; admins are promoted in the database
+        user.setId(null);
+        user.setRole(Role.USER);
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        principalCache.invalidate(savedUser.getUsername());
         return "User registered successfully";
     }
 }
@@ -0,0 +1,99 @@
+package com.context.memorybook.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Meters of the share pipeline and the matching engine.
+ * Each stage of a share is timed as memorybook.share.stage{stage=...}; merge includes the
+ * summary and suggestions stages it runs. The distributions describe the libraries being matched
+ * against: how many memories a match scores, and how large memories grow in contents and keywords.
+ */
+@Component
+public class PipelineMetrics {
+
+    public static final String EXTRACTION = "extraction"; // Tokenizing and keyword extraction
+    public static final String INSERT = "insert"; // Storing one content row
+    public static final String BATCH_INSERT = "batch-insert"; // Storing the content rows of a batch or import chunk
+    public static final String CANDIDATES = "candidates"; // Finding and loading the memories to score
+    public static final String SCORING = "scoring"; // Similarity of each candidate
+    public static final String LOAD = "load"; // Loading the matched memory
+    public static final String CREATE = "create"; // New memory for unmatched content
+    public static final String MERGE = "merge"; // Merging content into the matched memory
+    public static final String SUMMARY = "summary";
+    public static final String SUGGESTIONS = "suggestions";
+
+    private static final List<String> STAGES = List.of(
+            EXTRACTION, INSERT, BATCH_INSERT, CANDIDATES, SCORING, LOAD, CREATE, MERGE, SUMMARY, SUGGESTIONS);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> stages = new HashMap<>();
+    private final DistributionSummary scanned;
+    private final Counter hits;
+    private final Counter misses;
+    private final DistributionSummary appendedSize;
+    private final DistributionSummary memoryContents;
+    private final DistributionSummary memoryKeywords;
+
+    public PipelineMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (String stage : STAGES) {
+            stages.put(stage, meterRegistry.timer("memorybook.share.stage", "stage", stage));
+        }
+        scanned = DistributionSummary.builder("memorybook.matching.scanned")
+                .description("Memories scored per match")
+                .register(meterRegistry);
+        hits = meterRegistry.counter("memorybook.matching.results", "result", "hit");
+        misses = meterRegistry.counter("memorybook.matching.results", "result", "miss");
+        appendedSize = DistributionSummary.builder("memorybook.memory.appended.size")
+                .description("Characters of content added to a memory")
+                .baseUnit("characters")
+                .register(meterRegistry);
+        memoryContents = DistributionSummary.builder("memorybook.memory.contents")
+                .description("Content items merged into a memory so far")
+                .register(meterRegistry);
+        memoryKeywords = DistributionSummary.builder("memorybook.memory.keywords")
+                .description("Keywords of a memory after a merge")
+                .register(meterRegistry);
+    }
+
+    public <T> T time(String stage, Supplier<T> action) {
+        return stages.get(stage).record(action);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stop(Timer.Sample sample, String stage) {
+        sample.stop(stages.get(stage));
+    }
+
+    /**
+     * Outcome of matching content against a user's memories
+     */
+    public void recordMatch(boolean hit) {
+        (hit ? hits : misses).increment();
+    }
+
+    public void recordScanned(int memoriesScanned) {
+        scanned.record(memoriesScanned);
+    }
+
+    /**
+     * Size of a memory after content was added to it
+     */
+    public void recordMemory(int appendedChars, int contents, int keywords) {
+        appendedSize.record(appendedChars);
+        memoryContents.record(contents);
+        memoryKeywords.record(keywords);
+    }
+}
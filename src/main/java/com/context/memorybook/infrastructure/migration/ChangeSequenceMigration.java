@@ -0,0 +1,76 @@
+package com.context.memorybook.infrastructure.migration;
+
+import com.context.memorybook.domain.sync.service.ChangeSequenceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stamps memories and contents stored before change sequences existed, so the first sync
+ * of a client sees them. Only rows without a number are picked up, so the migration resumes
+ * where it stopped and is a no-op once every row has one.
+ */
+@Component
+public class ChangeSequenceMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeSequenceMigration.class);
+    private static final int PAGE_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String table : new String[]{"memories", "contents"}) {
+            int migrated = 0;
+            while (true) {
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                        "SELECT id, user_id FROM " + table + " WHERE change_seq IS NULL AND user_id IS NOT NULL " +
+                                "ORDER BY id LIMIT " + PAGE_SIZE);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                transactionTemplate.executeWithoutResult(status -> stamp(table, rows));
+                migrated += rows.size();
+            }
+
+            if (migrated > 0) {
+                log.info("Assigned change sequence numbers to {} rows of {}", migrated, table);
+            }
+        }
+    }
+
+    private void stamp(String table, List<Map<String, Object>> rows) {
+        Map<Long, List<Long>> idsByUser = new LinkedHashMap<>();
+        for (Map<String, Object> row : rows) {
+            Long userId = ((Number) row.get("user_id")).longValue();
+            idsByUser.computeIfAbsent(userId, key -> new ArrayList<>()).add(((Number) row.get("id")).longValue());
+        }
+
+        List<Object[]> updates = new ArrayList<>(rows.size());
+        for (Map.Entry<Long, List<Long>> entry : idsByUser.entrySet()) {
+            List<Long> ids = entry.getValue();
+            long seq = changeSequenceService.next(entry.getKey(), ids.size()) - ids.size();
+            for (Long id : ids) {
+                updates.add(new Object[]{++seq, id});
+            }
+        }
+        jdbcTemplate.batchUpdate("UPDATE " + table + " SET change_seq = ? WHERE id = ?", updates);
+    }
+}
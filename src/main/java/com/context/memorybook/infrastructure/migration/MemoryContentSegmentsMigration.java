@@ -0,0 +1,80 @@
+package com.context.memorybook.infrastructure.migration;
+
+import com.context.memorybook.domain.memory.service.MemorySegmentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Moves the legacy memories.content column into memory_segments.
+ * Bodies are split on the separator merges used to append content, so each merged item
+ * becomes its own segment. Migrated rows have their column cleared, which makes the
+ * migration resumable and a no-op once every memory has been converted.
+ * Runs once all beans are created and before the web server accepts requests, so no edit
+ * or merge of a memory can interleave with it and be overwritten or reordered by old content.
+ */
+@Component
+public class MemoryContentSegmentsMigration implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(MemoryContentSegmentsMigration.class);
+    private static final int PAGE_SIZE = 100;
+
+    private static final String INSERT_SEGMENT_SQL = "INSERT INTO memory_segments (memory_id, body, created_at) " +
+            "VALUES (?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Integer legacyColumns = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                        "WHERE table_name = 'memories' AND column_name = 'content'", Integer.class);
+        if (legacyColumns == null || legacyColumns == 0) {
+            return;
+        }
+
+        int migrated = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, content, created_at FROM memories " +
+                            "WHERE content IS NOT NULL ORDER BY id LIMIT " + PAGE_SIZE);
+            if (rows.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> rows.forEach(this::migrate));
+            migrated += rows.size();
+        }
+
+        if (migrated > 0) {
+            log.info("Migrated content of {} memories to memory_segments", migrated);
+        }
+    }
+
+    private void migrate(Map<String, Object> row) {
+        Long memoryId = ((Number) row.get("id")).longValue();
+        Timestamp createdAt = (Timestamp) row.get("created_at");
+
+        List<Object[]> segments = new ArrayList<>();
+        for (String body : ((String) row.get("content")).split(Pattern.quote(MemorySegmentService.SEPARATOR))) {
+            if (!body.isEmpty()) {
+                segments.add(new Object[]{memoryId, body, createdAt});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SEGMENT_SQL, segments);
+        jdbcTemplate.update("UPDATE memories SET content = NULL WHERE id = ?", memoryId);
+    }
+}
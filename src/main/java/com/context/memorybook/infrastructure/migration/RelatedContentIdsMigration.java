@@ -0,0 +1,91 @@
+package com.context.memorybook.infrastructure.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves the legacy comma-separated memories.related_content_ids column into memory_content links.
+ * Each migrated row has its column cleared, so the migration resumes where it stopped
+ * and is a no-op once every memory has been converted.
+ * Runs before the web server accepts requests, like MemoryContentSegmentsMigration.
+ */
+@Component
+public class RelatedContentIdsMigration implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(RelatedContentIdsMigration.class);
+    private static final int PAGE_SIZE = 500;
+
+    // Skips links that already exist; plain SQL so it runs on Postgres and on the H2 loadtest database
+    private static final String INSERT_LINK_SQL = "INSERT INTO memory_content (memory_id, content_id, linked_at) " +
+            "SELECT CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS TIMESTAMP) WHERE NOT EXISTS " +
+            "(SELECT 1 FROM memory_content WHERE memory_id = ? AND content_id = ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Integer legacyColumns = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                        "WHERE table_name = 'memories' AND column_name = 'related_content_ids'", Integer.class);
+        if (legacyColumns == null || legacyColumns == 0) {
+            return;
+        }
+
+        int migrated = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, related_content_ids, last_related_content_at FROM memories " +
+                            "WHERE related_content_ids IS NOT NULL ORDER BY id LIMIT " + PAGE_SIZE);
+            if (rows.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> rows.forEach(this::migrate));
+            migrated += rows.size();
+        }
+
+        if (migrated > 0) {
+            log.info("Migrated related content ids of {} memories to memory_content", migrated);
+        }
+    }
+
+    private void migrate(Map<String, Object> row) {
+        Long memoryId = ((Number) row.get("id")).longValue();
+        Timestamp linkedAt = row.get("last_related_content_at") != null
+                ? (Timestamp) row.get("last_related_content_at")
+                : Timestamp.valueOf(LocalDateTime.now());
+
+        // Keep the original order, it decides which titles suggestions show
+        Set<Long> contentIds = new LinkedHashSet<>();
+        for (String id : ((String) row.get("related_content_ids")).split(",")) {
+            try {
+                contentIds.add(Long.parseLong(id.trim()));
+            } catch (NumberFormatException e) {
+                // Skip malformed entries, same as the old title lookup did
+            }
+        }
+
+        List<Object[]> links = new ArrayList<>(contentIds.size());
+        for (Long contentId : contentIds) {
+            links.add(new Object[]{memoryId, contentId, linkedAt, memoryId, contentId});
+        }
+        jdbcTemplate.batchUpdate(INSERT_LINK_SQL, links);
+        jdbcTemplate.update("UPDATE memories SET related_content_ids = NULL WHERE id = ?", memoryId);
+    }
+}
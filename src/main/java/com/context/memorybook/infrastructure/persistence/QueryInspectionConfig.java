@@ -0,0 +1,27 @@
+package com.context.memorybook.infrastructure.persistence;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the statement inspector and timing listener with Hibernate, and has Hibernate log
+ * slow statements with the SQL it executed.
+ * Statements run through JdbcTemplate (batch inserts, change sequences, migrations) bypass them.
+ */
+@Configuration
+public class QueryInspectionConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryInspection(
+            @Value("${memorybook.query-stats.slow-statement-ms:200}") long slowStatementMs) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryTimingListener.class.getName());
+            // Logged to org.hibernate.SQL_SLOW
+            properties.put(AvailableSettings.LOG_SLOW_QUERY, slowStatementMs);
+        };
+    }
+}
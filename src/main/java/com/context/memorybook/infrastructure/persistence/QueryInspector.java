@@ -0,0 +1,19 @@
+package com.context.memorybook.infrastructure.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement Hibernate prepares for the thread's QueryStats.
+ * The statement itself is not changed.
+ */
+public class QueryInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.recordStatement(sql);
+        }
+        return sql;
+    }
+}
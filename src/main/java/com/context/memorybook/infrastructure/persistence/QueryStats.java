@@ -0,0 +1,85 @@
+package com.context.memorybook.infrastructure.persistence;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statements run by Hibernate on the current thread between start and stop, e.g. during one request.
+ * Statements are counted by their SQL text, which has placeholders for parameters, so the same
+ * statement run once per row of an earlier result (an N+1 pattern) shows up as one repeated entry.
+ */
+public final class QueryStats {
+
+    // Distinct statements remembered per scope; further ones are still counted and timed
+    private static final int MAX_DISTINCT_STATEMENTS = 200;
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int count;
+    private long timeNanos;
+    private final Map<String, Integer> statements = new HashMap<>();
+
+    private QueryStats() {
+    }
+
+    /**
+     * Start collecting for the current thread, replacing any collection in progress
+     */
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stop collecting for the current thread and return what was collected, null if nothing was started
+     */
+    public static QueryStats stop() {
+        QueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * Collection in progress on the current thread, null if there is none
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    void recordStatement(String sql) {
+        count++;
+        if (statements.size() < MAX_DISTINCT_STATEMENTS || statements.containsKey(sql)) {
+            statements.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void recordTime(long nanos) {
+        timeNanos += nanos;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getTimeNanos() {
+        return timeNanos;
+    }
+
+    public long getTimeMillis() {
+        return timeNanos / 1_000_000;
+    }
+
+    /**
+     * Statements run at least minTimes, most frequent first
+     */
+    public Map<String, Integer> repeated(int minTimes) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        statements.entrySet().stream()
+                .filter(entry -> entry.getValue() >= minTimes)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+}
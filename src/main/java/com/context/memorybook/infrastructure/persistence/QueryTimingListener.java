@@ -0,0 +1,25 @@
+package com.context.memorybook.infrastructure.persistence;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times the JDBC executions of a Hibernate session and adds them to the thread's QueryStats.
+ * Hibernate creates one instance per session, so the start time needs no synchronization.
+ */
+public class QueryTimingListener implements SessionEventListener {
+
+    private long startNanos;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.recordTime(System.nanoTime() - startNanos);
+        }
+    }
+}
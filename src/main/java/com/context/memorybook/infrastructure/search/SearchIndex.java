@@ -0,0 +1,589 @@
+package com.context.memorybook.infrastructure.search;
+
+import com.context.memorybook.common.util.TransactionHooks;
+import com.context.memorybook.domain.ai.model.Content;
+import com.context.memorybook.domain.memory.model.Memory;
+import com.context.memorybook.domain.memory.model.MemorySegment;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Embedded Lucene index over memories, memory segments and content.
+ * Documents are written after the surrounding transaction commits and become searchable
+ * through a near-real-time reader; the index is committed to disk periodically and on shutdown.
+ *
+ * The index lives in a generation directory under data-dir, named by the current file.
+ * A rebuild (see SearchReindexService) fills a new generation while searches keep using the
+ * live one, then swaps it in. Live writes go to both while the rebuild runs, and the rebuild
+ * skips documents a live write has touched since it started, so it cannot bring back stale
+ * or deleted data. A write that fails, or a run that did not shut down cleanly, leaves the
+ * index dirty so that it gets rebuilt instead of silently missing documents.
+ */
+@Component
+public class SearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndex.class);
+
+    private static final String UID = "uid";
+    private static final String KIND = "kind";
+    private static final String USER_ID = "userId";
+    private static final String ID = "id";
+    private static final String MEMORY_ID = "memoryId";
+
+    private static final String KIND_MEMORY = "memory";
+    private static final String KIND_SEGMENT = "segment";
+    private static final String KIND_CONTENT = "content";
+
+    private static final String GENERATION_PREFIX = "index-";
+    private static final String CURRENT_FILE = "current";
+    // Present while the index is open; found on startup it means the last run did not close it
+    private static final String OPEN_MARKER = "open";
+
+    // Field boosts: short descriptive fields weigh more than long bodies
+    private static final Map<String, Float> MEMORY_FIELDS = Map.of(
+            "context", 2.0f, "keywords", 2.0f, "summary", 1.5f, "body", 1.0f);
+    private static final Map<String, Float> CONTENT_FIELDS = Map.of(
+            "title", 3.0f, "extractedContext", 2.0f, "description", 1.5f, "textContent", 1.0f);
+
+    @Value("${memorybook.search.data-dir:data/search-index}")
+    private String dataDir;
+
+    @Value("${memorybook.search.max-results:100}")
+    private int maxResults;
+
+    @Value("${memorybook.search.refresh-max-stale-ms:1000}")
+    private long refreshMaxStaleMs;
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+
+    // Searches and writes hold the read lock; starting, swapping and closing generations the write lock
+    private final ReentrantReadWriteLock generationLock = new ReentrantReadWriteLock();
+    private Path root;
+    private Generation live;
+    private Generation building;
+
+    // Live writes since the rebuild started, guarded by fenceLock together with writes to the new generation.
+    // A lock rather than a monitor, as index I/O under a monitor would pin virtual-thread carriers.
+    private final ReentrantLock fenceLock = new ReentrantLock();
+    private final Set<String> touchedUids = new HashSet<>();
+    private final Set<Long> droppedSegmentsOf = new HashSet<>();
+
+    private volatile boolean dirty;
+    private volatile boolean dirtySinceRebuildStart;
+
+    @PostConstruct
+    public void open() throws IOException {
+        root = Path.of(dataDir);
+        Files.createDirectories(root);
+        if (Files.exists(root.resolve(OPEN_MARKER))) {
+            log.warn("Search index was not closed cleanly, it will be rebuilt");
+            dirty = true;
+        }
+
+        Path currentFile = root.resolve(CURRENT_FILE);
+        String current = Files.exists(currentFile) ? Files.readString(currentFile, StandardCharsets.UTF_8).trim() : null;
+        Path path = current != null ? root.resolve(current) : newGenerationPath();
+        live = Generation.open(path, analyzer);
+        live.startSearching(refreshMaxStaleMs);
+        if (current == null) {
+            makeCurrent(path);
+        }
+        deleteGenerationsExcept(path);
+        Files.writeString(root.resolve(OPEN_MARKER), "", StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Whether the index holds no documents at all, e.g. on a fresh data dir
+     */
+    public boolean isEmpty() {
+        return withGeneration(generation -> generation.writer.getDocStats().numDocs == 0);
+    }
+
+    /**
+     * Whether writes may be missing from the index, so it should be rebuilt
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Ids of the user's memories matching the query, best match first
+     */
+    public List<Long> searchMemories(Long userId, String query) {
+        return search(userId, query, MEMORY_FIELDS, KIND_MEMORY, KIND_SEGMENT);
+    }
+
+    /**
+     * Ids of the user's content matching the query, best match first
+     */
+    public List<Long> searchContents(Long userId, String query) {
+        return search(userId, query, CONTENT_FIELDS, KIND_CONTENT);
+    }
+
+    /**
+     * Index a memory's descriptive fields once the current transaction commits
+     */
+    public void onMemorySaved(Memory memory) {
+        String uid = KIND_MEMORY + ":" + memory.getId();
+        Document document = memoryDocument(memory);
+        TransactionHooks.afterCommit(() -> write(uid, null, writer -> writer.updateDocument(new Term(UID, uid), document)));
+    }
+
+    /**
+     * Index an appended memory segment once the current transaction commits
+     */
+    public void onSegmentSaved(MemorySegment segment, Long userId) {
+        String uid = KIND_SEGMENT + ":" + segment.getId();
+        Document document = segmentDocument(segment, userId);
+        TransactionHooks.afterCommit(() -> write(uid, null, writer -> writer.updateDocument(new Term(UID, uid), document)));
+    }
+
+    /**
+     * Drop all segments of a memory once the current transaction commits
+     */
+    public void onSegmentsDeleted(Long memoryId) {
+        Query segments = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(MEMORY_ID, String.valueOf(memoryId))), BooleanClause.Occur.FILTER)
+                .add(new TermQuery(new Term(KIND, KIND_SEGMENT)), BooleanClause.Occur.FILTER)
+                .build();
+        TransactionHooks.afterCommit(() -> write(null, memoryId, writer -> writer.deleteDocuments(segments)));
+    }
+
+    /**
+     * Drop a memory and its segments once the current transaction commits
+     */
+    public void onMemoryDeleted(Long memoryId) {
+        Query memoryAndSegments = new TermQuery(new Term(MEMORY_ID, String.valueOf(memoryId)));
+        TransactionHooks.afterCommit(() -> write(KIND_MEMORY + ":" + memoryId, memoryId,
+                writer -> writer.deleteDocuments(memoryAndSegments)));
+    }
+
+    /**
+     * Index a content item once the current transaction commits
+     */
+    public void onContentSaved(Content content) {
+        String uid = KIND_CONTENT + ":" + content.getId();
+        Document document = contentDocument(content);
+        TransactionHooks.afterCommit(() -> write(uid, null, writer -> writer.updateDocument(new Term(UID, uid), document)));
+    }
+
+    /**
+     * Start filling a new, empty generation; searches keep using the live one until finishRebuild
+     */
+    void beginRebuild() throws IOException {
+        Generation next = Generation.open(newGenerationPath(), analyzer);
+        generationLock.writeLock().lock();
+        try {
+            if (building != null) {
+                next.discard();
+                throw new IllegalStateException("A rebuild is already running");
+            }
+            fenceLock.lock();
+            try {
+                touchedUids.clear();
+                droppedSegmentsOf.clear();
+            } finally {
+                fenceLock.unlock();
+            }
+            dirtySinceRebuildStart = false;
+            building = next;
+        } finally {
+            generationLock.writeLock().unlock();
+        }
+    }
+
+    void rebuildMemory(Memory memory) throws IOException {
+        String uid = KIND_MEMORY + ":" + memory.getId();
+        rebuild(uid, null, writer -> writer.updateDocument(new Term(UID, uid), memoryDocument(memory)));
+    }
+
+    void rebuildSegment(MemorySegment segment, Long userId) throws IOException {
+        String uid = KIND_SEGMENT + ":" + segment.getId();
+        rebuild(uid, segment.getMemoryId(), writer -> writer.updateDocument(new Term(UID, uid), segmentDocument(segment, userId)));
+    }
+
+    void rebuildContent(Content content) throws IOException {
+        String uid = KIND_CONTENT + ":" + content.getId();
+        rebuild(uid, null, writer -> writer.updateDocument(new Term(UID, uid), contentDocument(content)));
+    }
+
+    /**
+     * Commit the new generation and make it the live one; the old generation is deleted
+     */
+    void finishRebuild() throws IOException {
+        Generation next;
+        generationLock.readLock().lock();
+        try {
+            next = requireBuilding();
+            // Most of the work is committed while writes and searches go on
+            next.writer.commit();
+        } finally {
+            generationLock.readLock().unlock();
+        }
+
+        Generation previous;
+        generationLock.writeLock().lock();
+        try {
+            next.writer.commit();
+            next.startSearching(refreshMaxStaleMs);
+            makeCurrent(next.path);
+            previous = live;
+            live = next;
+            building = null;
+            dirty = dirtySinceRebuildStart;
+        } finally {
+            generationLock.writeLock().unlock();
+        }
+        previous.discard();
+    }
+
+    /**
+     * Drop the new generation after a failed rebuild; the live one stays as it was
+     */
+    void abortRebuild() {
+        Generation next;
+        generationLock.writeLock().lock();
+        try {
+            next = building;
+            building = null;
+        } finally {
+            generationLock.writeLock().unlock();
+        }
+        if (next != null) {
+            next.discard();
+        }
+    }
+
+    /**
+     * Persist indexed documents; near-real-time search does not need this, crash recovery does
+     */
+    @Scheduled(fixedDelayString = "${memorybook.search.commit-interval-ms:60000}")
+    public void commit() {
+        generationLock.readLock().lock();
+        try {
+            if (live.writer.hasUncommittedChanges()) {
+                live.writer.commit();
+            }
+        } catch (IOException | RuntimeException e) {
+            markDirty("Failed to commit the search index", e);
+        } finally {
+            generationLock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        generationLock.writeLock().lock();
+        try {
+            if (building != null) {
+                building.discard();
+                building = null;
+            }
+            live.close();
+            if (!dirty) {
+                Files.deleteIfExists(root.resolve(OPEN_MARKER));
+            }
+        } finally {
+            generationLock.writeLock().unlock();
+        }
+    }
+
+    private List<Long> search(Long userId, String text, Map<String, Float> fields, String... kinds) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        // The simple parser never fails on user input, operators it does not understand are treated as text
+        Query parsed = new SimpleQueryParser(analyzer, fields).parse(text);
+
+        BooleanQuery.Builder kindFilter = new BooleanQuery.Builder();
+        for (String kind : kinds) {
+            kindFilter.add(new TermQuery(new Term(KIND, kind)), BooleanClause.Occur.SHOULD);
+        }
+        Query query = new BooleanQuery.Builder()
+                .add(parsed, BooleanClause.Occur.MUST)
+                .add(LongPoint.newExactQuery(USER_ID, userId), BooleanClause.Occur.FILTER)
+                .add(kindFilter.build(), BooleanClause.Occur.FILTER)
+                .build();
+
+        return withGeneration(generation -> {
+            try {
+                IndexSearcher searcher = generation.searcherManager.acquire();
+                try {
+                    // Several segments can hit the same memory, so fetch extra hits before collapsing
+                    ScoreDoc[] hits = searcher.search(query, maxResults * kinds.length * 2).scoreDocs;
+                    StoredFields storedFields = searcher.storedFields();
+                    Set<Long> ids = new LinkedHashSet<>();
+                    for (ScoreDoc hit : hits) {
+                        ids.add(storedFields.document(hit.doc).getField(ID).numericValue().longValue());
+                        if (ids.size() == maxResults) {
+                            break;
+                        }
+                    }
+                    return new ArrayList<>(ids);
+                } finally {
+                    generation.searcherManager.release(searcher);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private <T> T withGeneration(Function<Generation, T> action) {
+        generationLock.readLock().lock();
+        try {
+            return action.apply(live);
+        } finally {
+            generationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a committed change to the live generation and, during a rebuild, to the new one.
+     * Runs after the database commit, so a failure cannot be reported to the caller any more;
+     * it is logged and marks the index dirty instead.
+     */
+    private void write(String uid, Long dropSegmentsOf, IndexWrite action) {
+        generationLock.readLock().lock();
+        try {
+            action.apply(live.writer);
+            if (building != null) {
+                fenceLock.lock();
+                try {
+                    if (uid != null) {
+                        touchedUids.add(uid);
+                    }
+                    if (dropSegmentsOf != null) {
+                        droppedSegmentsOf.add(dropSegmentsOf);
+                    }
+                    action.apply(building.writer);
+                } finally {
+                    fenceLock.unlock();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            markDirty("Failed to update the search index", e);
+        } finally {
+            generationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Write a document read by the rebuild, unless a live write touched it since the rebuild started
+     */
+    private void rebuild(String uid, Long memoryId, IndexWrite action) throws IOException {
+        generationLock.readLock().lock();
+        try {
+            Generation next = requireBuilding();
+            fenceLock.lock();
+            try {
+                if (touchedUids.contains(uid) || (memoryId != null && droppedSegmentsOf.contains(memoryId))) {
+                    return;
+                }
+                action.apply(next.writer);
+            } finally {
+                fenceLock.unlock();
+            }
+        } finally {
+            generationLock.readLock().unlock();
+        }
+    }
+
+    private Generation requireBuilding() {
+        if (building == null) {
+            throw new IllegalStateException("No rebuild is running");
+        }
+        return building;
+    }
+
+    private void markDirty(String message, Exception e) {
+        log.error("{}; it will be rebuilt", message, e);
+        dirty = true;
+        dirtySinceRebuildStart = true;
+    }
+
+    private Path newGenerationPath() {
+        long number = System.currentTimeMillis();
+        while (Files.exists(root.resolve(GENERATION_PREFIX + number))) {
+            number++;
+        }
+        return root.resolve(GENERATION_PREFIX + number);
+    }
+
+    /**
+     * Point the current file at a generation, atomically so a crash leaves either the old or the new one
+     */
+    private void makeCurrent(Path generation) throws IOException {
+        Path temp = root.resolve(CURRENT_FILE + ".tmp");
+        Files.writeString(temp, generation.getFileName().toString(), StandardCharsets.UTF_8);
+        Files.move(temp, root.resolve(CURRENT_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Remove generations left behind by rebuilds that did not finish
+     */
+    private void deleteGenerationsExcept(Path keep) throws IOException {
+        try (Stream<Path> entries = Files.list(root)) {
+            for (Path entry : entries.toList()) {
+                if (Files.isDirectory(entry) && entry.getFileName().toString().startsWith(GENERATION_PREFIX)
+                        && !entry.equals(keep)) {
+                    FileSystemUtils.deleteRecursively(entry);
+                }
+            }
+        }
+    }
+
+    private Document memoryDocument(Memory memory) {
+        Document document = baseDocument(KIND_MEMORY + ":" + memory.getId(), KIND_MEMORY, memory.getUserId(), memory.getId());
+        document.add(new StringField(MEMORY_ID, String.valueOf(memory.getId()), Field.Store.NO));
+        addText(document, "context", memory.getContext());
+        addText(document, "keywords", memory.getKeywords());
+        addText(document, "summary", memory.getSummary());
+        return document;
+    }
+
+    private Document segmentDocument(MemorySegment segment, Long userId) {
+        Document document = baseDocument(KIND_SEGMENT + ":" + segment.getId(), KIND_SEGMENT, userId, segment.getMemoryId());
+        document.add(new StringField(MEMORY_ID, String.valueOf(segment.getMemoryId()), Field.Store.NO));
+        addText(document, "body", segment.getBody());
+        return document;
+    }
+
+    private Document contentDocument(Content content) {
+        Document document = baseDocument(KIND_CONTENT + ":" + content.getId(), KIND_CONTENT, content.getUserId(), content.getId());
+        addText(document, "title", content.getTitle());
+        addText(document, "description", content.getDescription());
+        addText(document, "textContent", content.getTextContent());
+        addText(document, "extractedContext", content.getExtractedContext());
+        return document;
+    }
+
+    private Document baseDocument(String uid, String kind, Long userId, Long id) {
+        Document document = new Document();
+        document.add(new StringField(UID, uid, Field.Store.NO));
+        document.add(new StringField(KIND, kind, Field.Store.NO));
+        document.add(new LongPoint(USER_ID, userId));
+        document.add(new StoredField(ID, id));
+        return document;
+    }
+
+    private void addText(Document document, String field, String value) {
+        if (value != null && !value.isEmpty()) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexWrite {
+        void apply(IndexWriter writer) throws IOException;
+    }
+
+    /**
+     * One index directory with its writer and, once live, its near-real-time searcher
+     */
+    private static class Generation {
+        final Path path;
+        final Directory directory;
+        final IndexWriter writer;
+        SearcherManager searcherManager;
+        ControlledRealTimeReopenThread<IndexSearcher> refreshThread;
+
+        private Generation(Path path, Directory directory, IndexWriter writer) {
+            this.path = path;
+            this.directory = directory;
+            this.writer = writer;
+        }
+
+        static Generation open(Path path, Analyzer analyzer) throws IOException {
+            Directory directory = new MMapDirectory(path);
+            IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            return new Generation(path, directory, writer);
+        }
+
+        void startSearching(long refreshMaxStaleMs) throws IOException {
+            searcherManager = new SearcherManager(writer, null);
+            refreshThread = new ControlledRealTimeReopenThread<>(writer, searcherManager,
+                    refreshMaxStaleMs / 1000.0, Math.min(25, refreshMaxStaleMs) / 1000.0);
+            refreshThread.setName("search-index-refresh");
+            refreshThread.setDaemon(true);
+            refreshThread.start();
+        }
+
+        /**
+         * Commit and close
+         */
+        void close() throws IOException {
+            if (refreshThread != null) {
+                refreshThread.close();
+                searcherManager.close();
+            }
+            writer.close();
+            directory.close();
+        }
+
+        /**
+         * Close without committing and delete the directory
+         */
+        void discard() {
+            try {
+                if (refreshThread != null) {
+                    refreshThread.close();
+                    searcherManager.close();
+                }
+                writer.rollback();
+                directory.close();
+                FileSystemUtils.deleteRecursively(path);
+            } catch (IOException e) {
+                log.warn("Failed to delete search index generation {}", path, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.context.memorybook.infrastructure.search;
+
+import com.context.memorybook.common.util.WorkerThreads;
+import com.context.memorybook.domain.admin.dto.ReindexStatus;
+import com.context.memorybook.domain.ai.model.Content;
+import com.context.memorybook.domain.ai.repository.ContentRepository;
+import com.context.memorybook.domain.memory.model.Memory;
+import com.context.memorybook.domain.memory.model.MemorySegment;
+import com.context.memorybook.domain.memory.repository.MemoryRepository;
+import com.context.memorybook.domain.memory.repository.MemorySegmentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Full rebuild of the search index from the database.
+ * Runs on a background worker and fills a new index generation that replaces the live one
+ * when it is complete, so searches keep working meanwhile. Also repairs the index after
+ * failed writes or an unclean shutdown.
+ */
+@Service
+public class SearchReindexService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchReindexService.class);
+    private static final int PAGE_SIZE = 200;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private MemoryRepository memoryRepository;
+
+    @Autowired
+    private MemorySegmentRepository memorySegmentRepository;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService executor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ReindexStatus status = new ReindexStatus();
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadExecutor(WorkerThreads.factory("search-reindex-", virtualThreads));
+    }
+
+    /**
+     * Build the index on startup if it is empty, e.g. on the first run with a new data dir,
+     * or if the last run did not shut down cleanly
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reindexIfNeeded() {
+        if (searchIndex.isEmpty() || searchIndex.isDirty()) {
+            startReindex();
+        }
+    }
+
+    /**
+     * Rebuild the index once a write to it has failed
+     */
+    @Scheduled(fixedDelayString = "${memorybook.search.commit-interval-ms:60000}")
+    public void repair() {
+        if (searchIndex.isDirty() && startReindex()) {
+            log.warn("Search index missed writes, rebuilding it");
+        }
+    }
+
+    /**
+     * Start a full reindex in the background
+     * Returns false if one is already running
+     */
+    public boolean startReindex() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        status = new ReindexStatus(true, 0, 0, 0, LocalDateTime.now(), null, null);
+        executor.execute(this::reindex);
+        return true;
+    }
+
+    public ReindexStatus getStatus() {
+        return status;
+    }
+
+    private void reindex() {
+        ReindexStatus current = status;
+        try {
+            searchIndex.beginRebuild();
+
+            long afterId = 0;
+            List<Memory> memories;
+            while (!(memories = memoryRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, PAGE_SIZE))).isEmpty()) {
+                for (Memory memory : memories) {
+                    searchIndex.rebuildMemory(memory);
+                }
+                current.setMemoriesIndexed(current.getMemoriesIndexed() + memories.size());
+                afterId = memories.get(memories.size() - 1).getId();
+            }
+
+            afterId = 0;
+            List<Object[]> segments;
+            while (!(segments = memorySegmentRepository.findWithUserIdAfter(afterId, PageRequest.of(0, PAGE_SIZE))).isEmpty()) {
+                for (Object[] row : segments) {
+                    searchIndex.rebuildSegment((MemorySegment) row[0], (Long) row[1]);
+                }
+                current.setSegmentsIndexed(current.getSegmentsIndexed() + segments.size());
+                afterId = ((MemorySegment) segments.get(segments.size() - 1)[0]).getId();
+            }
+
+            afterId = 0;
+            List<Content> contents;
+            while (!(contents = contentRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, PAGE_SIZE))).isEmpty()) {
+                for (Content content : contents) {
+                    searchIndex.rebuildContent(content);
+                }
+                current.setContentsIndexed(current.getContentsIndexed() + contents.size());
+                afterId = contents.get(contents.size() - 1).getId();
+            }
+
+            searchIndex.finishRebuild();
+            log.info("Search index rebuilt: {} memories, {} segments, {} contents",
+                    current.getMemoriesIndexed(), current.getSegmentsIndexed(), current.getContentsIndexed());
+        } catch (Exception e) {
+            searchIndex.abortRebuild();
+            log.error("Search reindex failed", e);
+            current.setError(e.getMessage());
+        } finally {
+            current.setFinishedAt(LocalDateTime.now());
+            current.setRunning(false);
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // A rebuild that does not finish leaves the live index as it was
+        executor.shutdownNow();
+    }
+}
@@ -1,35 +1,79 @@
 package com.context.memorybook.infrastructure.security;
 
+import com.context.memorybook.common.enums.Role;
+import com.context.memorybook.common.util.ExpiringCache;
+import com.context.memorybook.domain.user.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 @Service
 public class JwtService {
+    // Claims that let requests be authenticated without loading the user
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
+    // Tokens verified recently, by SHA-256 of the token, until they expire
+    @Value("${memorybook.auth.token-cache.max-size:10000}")
+    private int tokenCacheMaxSize;
+
+    // Key and parser are immutable and thread-safe, so they are built once
+    private Key key;
+    private JwtParser parser;
+    private ExpiringCache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        key = getKey();
+        parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        verifiedTokens = new ExpiringCache<>(tokenCacheMaxSize);
+    }
+
     public String generateToken(String username){
-        Map<String, Object> claims = new HashMap<>();
+        return generateToken(new HashMap<>(), username);
+    }
 
+    /**
+     * Token that also carries the user's id and role
+     */
+    public String generateToken(User user){
+        Map<String, Object> claims = new HashMap<>();
+        if (user.getId() != null && user.getRole() != null) {
+            claims.put(USER_ID_CLAIM, user.getId());
+            claims.put(ROLE_CLAIM, user.getRole().name());
+        }
+        return generateToken(claims, user.getUsername());
+    }
 
+    private String generateToken(Map<String, Object> claims, String username){
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(username)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + 1000*60*60*24))
-                .signWith(getKey(), SignatureAlgorithm.HS256)
+                .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -50,33 +94,66 @@ public class JwtService {
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
+    /**
+     * Check signature and expiry of a token and read its claims, parsing it at most once
+     * Returns null for tokens that are malformed, forged or expired
+     */
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        String tokenHash = hash(token);
+        VerifiedToken cached = verifiedTokens.get(tokenHash, now);
+        if (cached != null) {
+            return cached;
+        }
 
-    public String extractUserName(String token) {
-        return extractClaims(token, Claims::getSubject);
-    }
-
-    private <T> T extractClaims(String token, Function<Claims, T> claimResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimResolver.apply(claims);
+        VerifiedToken verified;
+        try {
+            verified = toVerifiedToken(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        if (verified.getExpiration() != null) {
+            verifiedTokens.put(tokenHash, verified, verified.getExpiration().getTime());
+        }
+        return verified;
     }
 
-    private Claims extractAllClaims(String token){
-        return Jwts.parserBuilder()
-                .setSigningKey(getKey())
-                .build()
-                .parseClaimsJws(token).getBody();
+    public String extractUserName(String token) {
+        VerifiedToken verified = verify(token);
+        return verified != null ? verified.getUsername() : null;
     }
 
-
     public boolean validateToken(String token, UserDetails userDetails){
-        final String userName = extractUserName(token);
-        return (userName.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        VerifiedToken verified = verify(token);
+        return verified != null && verified.getUsername().equals(userDetails.getUsername());
     }
 
-    private boolean isTokenExpired(String token){
-        return extractExpiration(token).before(new Date());
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        Object userId = claims.get(USER_ID_CLAIM);
+        Object roleName = claims.get(ROLE_CLAIM);
+        Role role = null;
+        if (userId instanceof Number && roleName instanceof String) {
+            try {
+                role = Role.valueOf((String) roleName);
+            } catch (IllegalArgumentException e) {
+                // Unknown role: authenticate through the database instead
+            }
+        }
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.getIssuedAt(),
+                claims.getExpiration(),
+                role != null ? ((Number) userId).longValue() : null,
+                role
+        );
     }
-    private Date extractExpiration(String token){
-        return extractClaims(token, Claims::getExpiration);
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
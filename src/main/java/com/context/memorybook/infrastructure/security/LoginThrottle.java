@@ -0,0 +1,90 @@
+package com.context.memorybook.infrastructure.security;
+
+import com.context.memorybook.common.util.ExpiringCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fixed-window limits on login attempts, checked before any password is hashed.
+ * Every attempt counts towards the limit of its client address; only failed attempts
+ * count towards the limit of the account, so a flood from elsewhere cannot lock a user
+ * out for longer than one window and a successful login clears the account's count.
+ */
+@Component
+public class LoginThrottle {
+
+    @Value("${memorybook.auth.login-throttle.window-ms:60000}")
+    private long windowMs;
+
+    @Value("${memorybook.auth.login-throttle.max-attempts-per-ip:30}")
+    private int maxAttemptsPerIp;
+
+    @Value("${memorybook.auth.login-throttle.max-failures-per-account:10}")
+    private int maxFailuresPerAccount;
+
+    @Value("${memorybook.auth.login-throttle.max-keys:100000}")
+    private int maxKeys;
+
+    private ExpiringCache<String, int[]> ipAttempts;
+    private ExpiringCache<String, int[]> accountFailures;
+
+    private final Counter ipThrottled;
+    private final Counter accountThrottled;
+
+    public LoginThrottle(MeterRegistry meterRegistry) {
+        ipThrottled = meterRegistry.counter("memorybook.auth.login.throttled", "scope", "ip");
+        accountThrottled = meterRegistry.counter("memorybook.auth.login.throttled", "scope", "account");
+    }
+
+    @PostConstruct
+    public void init() {
+        ipAttempts = new ExpiringCache<>(maxKeys);
+        accountFailures = new ExpiringCache<>(maxKeys);
+    }
+
+    /**
+     * Record an attempt from the address and tell whether it may go ahead
+     */
+    public synchronized boolean tryAcquire(String ip, String username) {
+        long now = System.currentTimeMillis();
+        if (increment(ipAttempts, ip, now) > maxAttemptsPerIp) {
+            ipThrottled.increment();
+            return false;
+        }
+        int[] failures = username != null ? accountFailures.get(username, now) : null;
+        if (failures != null && failures[0] >= maxFailuresPerAccount) {
+            accountThrottled.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public synchronized void recordFailure(String username) {
+        if (username != null) {
+            increment(accountFailures, username, System.currentTimeMillis());
+        }
+    }
+
+    public synchronized void recordSuccess(String username) {
+        accountFailures.remove(username);
+    }
+
+    /**
+     * Longest wait until the window of a throttled key ends, for the Retry-After header
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, windowMs / 1000);
+    }
+
+    private int increment(ExpiringCache<String, int[]> counts, String key, long now) {
+        int[] count = counts.get(key, now);
+        if (count == null) {
+            count = new int[1];
+            counts.put(key, count, now + windowMs);
+        }
+        return ++count[0];
+    }
+}
@@ -0,0 +1,10 @@
+package com.context.memorybook.infrastructure.security;
+
+/**
+ * Password hashing is saturated: the queue is full or the work did not finish in time
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
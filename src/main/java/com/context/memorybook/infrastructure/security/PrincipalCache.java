@@ -0,0 +1,114 @@
+package com.context.memorybook.infrastructure.security;
+
+import com.context.memorybook.common.util.ExpiringCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Authenticated principals by username, so requests do not query the users table each time.
+ * Entries expire after a TTL and the least recently used ones are evicted beyond max-size.
+ * When a user changes, invalidate drops the entry and remembers the time of the change, so
+ * tokens issued before it are no longer trusted for their embedded id and role claims.
+ */
+@Component
+public class PrincipalCache {
+
+    @Autowired
+    private MyUserDetailsService userDetailsService;
+
+    @Value("${memorybook.auth.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${memorybook.auth.principal-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    private ExpiringCache<String, UserPrincipal> principals;
+
+    // Users changed recently, with the time of the change
+    private final Map<String, Long> changedAt = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            if (size() > maxSize) {
+                forgottenChangesBefore = Math.max(forgottenChangesBefore, eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // Latest change dropped from changedAt; older tokens are not trusted for their claims
+    private long forgottenChangesBefore;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter claims;
+
+    public PrincipalCache(MeterRegistry meterRegistry) {
+        hits = meterRegistry.counter("memorybook.auth.principals", "source", "cache");
+        misses = meterRegistry.counter("memorybook.auth.principals", "source", "database");
+        claims = meterRegistry.counter("memorybook.auth.principals", "source", "token");
+        Gauge.builder("memorybook.auth.principal.cache.size", this, PrincipalCache::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        principals = new ExpiringCache<>(maxSize);
+    }
+
+    /**
+     * Principal of the user, loaded from the database if it is not cached or has expired
+     */
+    public UserPrincipal get(String username) throws UsernameNotFoundException {
+        long now = System.currentTimeMillis();
+        UserPrincipal cached = principals.get(username, now);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        UserPrincipal principal = (UserPrincipal) userDetailsService.loadUserByUsername(username);
+        principals.put(username, principal, now + ttlMs);
+        return principal;
+    }
+
+    /**
+     * Whether the id and role claims of a token issued at issuedAt can still be trusted
+     */
+    public synchronized boolean claimsCurrent(String username, Date issuedAt) {
+        if (issuedAt == null || issuedAt.getTime() <= forgottenChangesBefore) {
+            return false;
+        }
+        Long changed = changedAt.get(username);
+        return changed == null || issuedAt.getTime() > changed;
+    }
+
+    /**
+     * Count a request authenticated from token claims alone
+     */
+    public void recordClaimsHit() {
+        claims.increment();
+    }
+
+    /**
+     * Drop the cached principal of a user whose details changed
+     */
+    public synchronized void invalidate(String username) {
+        principals.remove(username);
+        changedAt.put(username, System.currentTimeMillis());
+    }
+
+    public int size() {
+        return principals == null ? 0 : principals.size();
+    }
+}
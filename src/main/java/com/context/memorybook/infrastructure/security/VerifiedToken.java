@@ -0,0 +1,35 @@
+package com.context.memorybook.infrastructure.security;
+
+import com.context.memorybook.common.enums.Role;
+import com.context.memorybook.domain.user.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * Claims of a token whose signature and expiry have been checked
+ */
+@Data
+@AllArgsConstructor
+public class VerifiedToken {
+    private String username;
+    private Date issuedAt;
+    private Date expiration;
+    private Long userId; // Null for tokens issued without id and role claims
+    private Role role;
+
+    /**
+     * Principal described by the id and role claims, null for tokens issued without them
+     */
+    public UserPrincipal toPrincipal() {
+        if (userId == null || role == null) {
+            return null;
+        }
+        User user = new User();
+        user.setId(userId);
+        user.setUsername(username);
+        user.setRole(role);
+        return new UserPrincipal(user);
+    }
+}
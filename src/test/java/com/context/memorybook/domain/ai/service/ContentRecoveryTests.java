@@ -0,0 +1,109 @@
+package com.context.memorybook.domain.ai.service;
+
+import com.context.memorybook.common.enums.ContentType;
+import com.context.memorybook.common.enums.ProcessingStatus;
+import com.context.memorybook.domain.ai.dto.ShareContentRequest;
+import com.context.memorybook.domain.ai.model.Content;
+import com.context.memorybook.domain.memory.service.MemoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The recovery sweep against imports and shares that merge their own content on the H2
+ * loadtest database: with a short grace period it runs while the content waits for its merge.
+ * The context is closed afterwards so its sweep leaves the content of other tests alone.
+ */
+@SpringBootTest(properties = {
+        "memorybook.share.async.recovery-grace-ms=200",
+        "memorybook.share.async.recovery-interval-ms=5"
+})
+@ActiveProfiles("loadtest")
+@DirtiesContext
+class ContentRecoveryTests {
+
+    private static final long USER_ID = 9_000_001L;
+    private static final int ITEMS = 40;
+
+    @Autowired
+    private ContentShareService contentShareService;
+
+    @Autowired
+    private ContentService contentService;
+
+    @Autowired
+    private ContentProcessingService contentProcessingService;
+
+    @Autowired
+    private MemoryService memoryService;
+
+    @Test
+    void importedContentIsMergedOnceWithoutFailures() {
+        List<ShareContentRequest> requests = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            ShareContentRequest request = new ShareContentRequest();
+            request.setType(ContentType.ARTICLE);
+            request.setTitle("Kubernetes autoscaling notes " + i);
+            request.setTextContent("The cluster autoscaler adds nodes when pods stay pending, part " + i);
+            requests.add(request);
+        }
+
+        int failed = contentShareService.importChunk(USER_ID, requests, rejected -> assertEquals(0, rejected));
+
+        assertEquals(0, failed);
+        contentService.getContentByUser(USER_ID).forEach(content ->
+                assertEquals(ProcessingStatus.COMPLETED, content.getProcessingStatus()));
+    }
+
+    @Test
+    void recoverySkipsClaimedContent() throws InterruptedException {
+        Content saved = contentService.saveContent(content(USER_ID + 2, "Sourdough starter"));
+
+        contentProcessingService.claim(saved.getId());
+        try {
+            // Several sweeps past the grace period
+            Thread.sleep(1000);
+            assertEquals(ProcessingStatus.PENDING, statusOf(saved));
+        } finally {
+            contentProcessingService.release(saved.getId());
+        }
+
+        for (long deadline = System.currentTimeMillis() + 10000;
+             statusOf(saved) == ProcessingStatus.PENDING && System.currentTimeMillis() < deadline; ) {
+            Thread.sleep(10);
+        }
+        assertEquals(ProcessingStatus.COMPLETED, statusOf(saved));
+    }
+
+    @Test
+    void secondMergeOfTheSameContentIsReportedAsAlreadyProcessed() {
+        Content saved = contentService.saveContent(content(USER_ID + 1, "Gardening compost"));
+
+        memoryService.createOrUpdateMemoryFromContent(USER_ID + 1, saved);
+
+        assertThrows(ContentAlreadyProcessedException.class,
+                () -> memoryService.createOrUpdateMemoryFromContent(USER_ID + 1, saved));
+        assertEquals(ProcessingStatus.COMPLETED, statusOf(saved));
+    }
+
+    private ProcessingStatus statusOf(Content content) {
+        return contentService.getContentById(content.getId()).getProcessingStatus();
+    }
+
+    private Content content(Long userId, String title) {
+        Content content = new Content();
+        content.setUserId(userId);
+        content.setType(ContentType.ARTICLE);
+        content.setTitle(title);
+        content.setTextContent(title + " notes for the recovery sweep");
+        return content;
+    }
+}
@@ -0,0 +1,87 @@
+package com.context.memorybook.domain.ai.service;
+
+import com.context.memorybook.domain.memory.model.SummaryState;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IncrementalSummarizerTests {
+
+    private static final int MAX_LENGTH = 200;
+    private static final String SEPARATOR = "\n\n---\n\n";
+
+    private final ContextExtractionService contextExtractionService = new ContextExtractionService();
+
+    /**
+     * Every merge must produce the summary the old code computed over the whole stored body
+     * followed by the new content, and the state must keep describing the stored body.
+     */
+    @Test
+    void matchesFullResummarizationOnRandomMerges() {
+        Random random = new Random(7);
+        for (int run = 0; run < 2_000; run++) {
+            String body = "";
+            SummaryState state = IncrementalSummarizer.empty();
+            int merges = 1 + random.nextInt(6);
+            for (int merge = 0; merge < merges; merge++) {
+                String text = randomText(random);
+
+                String expected = contextExtractionService.generateSummary(
+                        body.isEmpty() ? text : body + "\n\n" + text, MAX_LENGTH);
+                String actual = IncrementalSummarizer.summary(
+                        IncrementalSummarizer.append(state, "\n\n", text, MAX_LENGTH), MAX_LENGTH);
+                assertEquals(expected, actual, "run " + run + " merge " + merge);
+
+                state = IncrementalSummarizer.append(state, SEPARATOR, text, MAX_LENGTH);
+                body = body.isEmpty() ? text : body + SEPARATOR + text;
+                assertEquals(contextExtractionService.generateSummary(body, MAX_LENGTH),
+                        IncrementalSummarizer.summary(state, MAX_LENGTH), "run " + run + " body " + merge);
+            }
+        }
+    }
+
+    @Test
+    void matchesOnEdgeCases() {
+        List<String> texts = List.of(
+                "",
+                "   ",
+                "...",
+                "  .  ",
+                "short. tiny! ok?",
+                "No terminator at all in this rather long sentence that keeps going",
+                "A".repeat(250),
+                "First sentence is here. " + "B".repeat(190) + ". Third sentence is here.",
+                "Exactly ten. Eleven char. Twelve chars!"
+        );
+        for (String first : texts) {
+            for (String second : texts) {
+                SummaryState state = IncrementalSummarizer.append(IncrementalSummarizer.empty(), SEPARATOR, first, MAX_LENGTH);
+                state = IncrementalSummarizer.append(state, SEPARATOR, second, MAX_LENGTH);
+                String body = first.isEmpty() ? second : first + SEPARATOR + second;
+                assertEquals(contextExtractionService.generateSummary(body, MAX_LENGTH),
+                        IncrementalSummarizer.summary(state, MAX_LENGTH), first + " | " + second);
+            }
+        }
+    }
+
+    private static String randomText(Random random) {
+        String[] words = {"spring", "boot", "java", "memory", "a", "an", "framework", "tokenizer", "summary", "x"};
+        String[] terminators = {".", "!", "?", "...", "?!"};
+        StringBuilder text = new StringBuilder();
+        int tokens = random.nextInt(40);
+        for (int i = 0; i < tokens; i++) {
+            int roll = random.nextInt(10);
+            if (roll == 0) {
+                text.append(terminators[random.nextInt(terminators.length)]);
+            } else if (roll == 1) {
+                text.append(random.nextBoolean() ? "\n" : "  ");
+            } else {
+                text.append(words[random.nextInt(words.length)]).append(' ');
+            }
+        }
+        return text.toString();
+    }
+}
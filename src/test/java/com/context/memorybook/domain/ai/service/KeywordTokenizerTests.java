@@ -0,0 +1,99 @@
+package com.context.memorybook.domain.ai.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KeywordTokenizerTests {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "be", "to", "of", "and", "a", "in", "that", "have", "i",
+            "it", "for", "not", "on", "with", "he", "as", "you", "do", "at",
+            "this", "but", "his", "by", "from", "they", "we", "say", "her", "she",
+            "or", "an", "will", "my", "one", "all", "would", "there", "their", "is"
+    );
+
+    private final KeywordTokenizer tokenizer = new KeywordTokenizer(4, STOP_WORDS);
+
+    @Test
+    void matchesRegexTokenizerOnCorpus() {
+        List<String> corpus = List.of(
+                "",
+                "   ",
+                "Spring Boot is a framework for building Java applications.",
+                "REST APIs are stateless; they don't keep session state. REST, REST, rest!",
+                "THIS That there Their WOULD would-be from:from, with\twith\nwith",
+                "Version 2.0.1 of the library ships 3000 fixes (see CHANGELOG#42).",
+                "Café naïve résumé — emoji 🚀 rocket, non-breaking\u00A0space and tabs\t\tbetween",
+                "snake_case kebab-case camelCaseWord PascalCase ALLCAPS mixedCASE123",
+                "averyveryveryveryveryveryveryveryveryveryveryveryveryveryveryverylongtokenthatgrowsthebuffer",
+                "a ab abc abcd abcde ABCD Abcd aBcD\r\n\u000Babcd\fabcd",
+                "Well... what?! Yes!!! No?? 1234 12345 x1y2 X1Y2z"
+        );
+
+        for (String text : corpus) {
+            assertEquals(regexCounts(text), tokenizer.countTerms(text), text);
+        }
+    }
+
+    @Test
+    void matchesRegexTokenizerOnRandomText() {
+        Random random = new Random(42);
+        String alphabet = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 \t\n.,;:!?'\"-_()[]éü€\u00A0";
+        List<String> words = new ArrayList<>(STOP_WORDS);
+        words.addAll(List.of("memory", "Memory", "MEMORY", "book", "context", "keyword", "spring", "java"));
+
+        for (int round = 0; round < 200; round++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(2000);
+            while (text.length() < length) {
+                if (random.nextInt(3) == 0) {
+                    text.append(words.get(random.nextInt(words.size())));
+                } else {
+                    text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+            }
+            String sample = text.toString();
+            assertEquals(regexCounts(sample), tokenizer.countTerms(sample), sample);
+        }
+    }
+
+    @Test
+    void treatsSeparatePiecesAsSeparateTokens() {
+        Map<String, Integer> counts = tokenizer.newCounter()
+                .add("Spring")
+                .add(null)
+                .add("Boot")
+                .add("Spring boot")
+                .toMap();
+
+        assertEquals(regexCounts("Spring Boot Spring boot"), counts);
+    }
+
+    /**
+     * Reference implementation: the regex based tokenizer this class replaces
+     */
+    private Map<String, Integer> regexCounts(String text) {
+        Map<String, Integer> wordFreq = new HashMap<>();
+        if (text == null || text.trim().isEmpty()) {
+            return wordFreq;
+        }
+
+        String cleaned = text.replaceAll("[^a-zA-Z0-9\\s]", " ");
+        String[] words = cleaned.toLowerCase().split("\\s+");
+        for (String word : words) {
+            word = word.trim();
+            if (word.length() > 3 && !STOP_WORDS.contains(word)) {
+                wordFreq.put(word, wordFreq.getOrDefault(word, 0) + 1);
+            }
+        }
+        return wordFreq;
+    }
+}
@@ -0,0 +1,84 @@
+package com.context.memorybook.domain.imports.service;
+
+import com.context.memorybook.common.enums.ContentType;
+import com.context.memorybook.domain.ai.dto.ShareContentRequest;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BookmarksImportReaderTests {
+
+    private static final String BOOKMARKS = """
+            <!DOCTYPE NETSCAPE-Bookmark-file-1>
+            <META HTTP-EQUIV="Content-Type" CONTENT="text/html; charset=UTF-8">
+            <TITLE>Bookmarks</TITLE>
+            <H1>Bookmarks</H1>
+            <DL><p>
+                <DT><H3 ADD_DATE="1700000000">Dev</H3>
+                <DL><p>
+                    <DT><A HREF="https://spring.io/guides?a=1&amp;b=2" ADD_DATE="1700000001">Spring &amp; Boot Guides</A>
+                    <DD>Getting started
+                    with Spring
+                    <DT><H3>Java</H3>
+                    <DL><p>
+                        <DT><a href='https://openjdk.org'>OpenJDK</a>
+                        <DT><A HREF="place:sort=8">Recent Tags</A>
+                    </DL><p>
+                    <DT><A HREF="https://example.com/empty"></A>
+                </DL><p>
+                <DT><A HREF="https://news.example.com">News &#8212; caf&#xE9;</A>
+            </DL><p>
+            """;
+
+    @Test
+    void readsLinksWithFolderAndDescription() throws IOException {
+        List<ShareContentRequest> requests = readAll(BOOKMARKS, 1000);
+
+        assertEquals(4, requests.size());
+        assertLink(requests.get(0), "Spring & Boot Guides", "https://spring.io/guides?a=1&b=2", "Dev");
+        assertEquals("Getting started with Spring", requests.get(0).getDescription());
+        assertLink(requests.get(1), "OpenJDK", "https://openjdk.org", "Dev / Java");
+        assertNull(requests.get(1).getDescription());
+        assertLink(requests.get(2), "https://example.com/empty", "https://example.com/empty", "Dev");
+        assertLink(requests.get(3), "News — café", "https://news.example.com", null);
+    }
+
+    @Test
+    void cutsOverlongText() throws IOException {
+        String html = "<DL><DT><A HREF=\"https://example.com\">" + "x".repeat(50) + "</A></DL>";
+        List<ShareContentRequest> requests = readAll(html, 30);
+
+        assertEquals(1, requests.size());
+        assertEquals("x".repeat(30), requests.get(0).getTitle());
+    }
+
+    @Test
+    void decodesOnlyKnownReferences() {
+        assertEquals("a & b <c> \"d\" 'e' &unknown; & f", BookmarksImportReader.decode(
+                "a &amp; b &lt;c&gt; &quot;d&quot; &#39;e&#x27; &unknown; & f"));
+    }
+
+    private static List<ShareContentRequest> readAll(String html, int maxEntryChars) throws IOException {
+        List<ShareContentRequest> requests = new ArrayList<>();
+        try (ImportReader reader = new BookmarksImportReader(new StringReader(html), maxEntryChars)) {
+            ShareContentRequest request;
+            while ((request = reader.next()) != null) {
+                requests.add(request);
+            }
+        }
+        return requests;
+    }
+
+    private static void assertLink(ShareContentRequest request, String title, String url, String source) {
+        assertEquals(ContentType.LINK, request.getType());
+        assertEquals(title, request.getTitle());
+        assertEquals(url, request.getUrl());
+        assertEquals(source, request.getSource());
+    }
+}
@@ -0,0 +1,137 @@
+package com.context.memorybook.domain.memory.service;
+
+import com.context.memorybook.domain.ai.service.ContextExtractionService;
+import com.context.memorybook.domain.memory.model.Memory;
+import com.context.memorybook.domain.memory.repository.MemoryRepository;
+import com.context.memorybook.domain.memory.repository.MemorySignatureView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Live updates of the per-user LSH tables are applied in change sequence order
+ */
+class MemoryLshIndexTests {
+
+    private static final Long USER_ID = 1L;
+    private static final String KUBERNETES = "kubernetes cluster autoscaling pods nodes scheduler";
+    private static final String GARDENING = "gardening tomatoes compost seedlings watering greenhouse";
+
+    private MemoryLshIndex index;
+    private MatchingKeywords matchingKeywords;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        matchingKeywords = new MatchingKeywords();
+        ReflectionTestUtils.setField(matchingKeywords, "contextExtractionService", new ContextExtractionService());
+
+        index = new MemoryLshIndex();
+        ReflectionTestUtils.setField(index, "matchingKeywords", matchingKeywords);
+        ReflectionTestUtils.setField(index, "idleTimeoutMs", 60_000L);
+
+        // The database holds memory 1 about Kubernetes at change sequence 5
+        MemorySignatureView stored = view(1L, KUBERNETES, 5L);
+        ReflectionTestUtils.setField(index, "memoryRepository", Proxy.newProxyInstance(
+                MemoryRepository.class.getClassLoader(),
+                new Class<?>[]{MemoryRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findSignaturesByUserId")) {
+                        loads.incrementAndGet();
+                        return List.of(stored);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                }));
+    }
+
+    @Test
+    void staleChangeDoesNotOverwriteNewerSignature() {
+        assertTrue(candidates(KUBERNETES).contains(1L));
+
+        // Commit hook of an older change arriving after the table was loaded
+        index.onMemorySaved(memory(1L, GARDENING, 3L));
+        assertTrue(candidates(KUBERNETES).contains(1L));
+        assertFalse(candidates(GARDENING).contains(1L));
+
+        index.onMemorySaved(memory(1L, GARDENING, 6L));
+        assertFalse(candidates(KUBERNETES).contains(1L));
+        assertTrue(candidates(GARDENING).contains(1L));
+    }
+
+    @Test
+    void lateSaveDoesNotBringBackDeletedMemory() {
+        assertTrue(candidates(KUBERNETES).contains(1L));
+
+        index.onMemoryDeleted(USER_ID, 1L);
+        index.onMemorySaved(memory(1L, KUBERNETES, 9L));
+        assertFalse(candidates(KUBERNETES).contains(1L));
+    }
+
+    @Test
+    void idleTablesAreEvictedAndReloaded() {
+        candidates(KUBERNETES);
+        ReflectionTestUtils.setField(index, "idleTimeoutMs", -1L);
+        index.evictIdle();
+
+        assertTrue(candidates(KUBERNETES).contains(1L));
+        assertEquals(2, loads.get());
+    }
+
+    private Set<Long> candidates(String context) {
+        return index.candidates(USER_ID, MinHasher.signature(matchingKeywords.keywordsOf(context, null)));
+    }
+
+    private Memory memory(Long id, String context, Long changeSeq) {
+        Memory memory = new Memory();
+        memory.setId(id);
+        memory.setUserId(USER_ID);
+        memory.setContext(context);
+        memory.setChangeSeq(changeSeq);
+        index.sign(memory);
+        return memory;
+    }
+
+    private MemorySignatureView view(Long id, String context, Long changeSeq) {
+        byte[] signature = memory(id, context, changeSeq).getMinhashSignature();
+        return new MemorySignatureView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getUserId() {
+                return USER_ID;
+            }
+
+            @Override
+            public String getContext() {
+                return context;
+            }
+
+            @Override
+            public String getKeywords() {
+                return null;
+            }
+
+            @Override
+            public byte[] getMinhashSignature() {
+                return signature;
+            }
+
+            @Override
+            public Long getChangeSeq() {
+                return changeSeq;
+            }
+        };
+    }
+}
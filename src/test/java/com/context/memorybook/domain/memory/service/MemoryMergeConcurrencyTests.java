@@ -0,0 +1,144 @@
+package com.context.memorybook.domain.memory.service;
+
+import com.context.memorybook.common.enums.ContentType;
+import com.context.memorybook.domain.ai.model.Content;
+import com.context.memorybook.domain.ai.service.ContentService;
+import com.context.memorybook.domain.memory.model.Memory;
+import com.context.memorybook.domain.memory.repository.MemoryContentRepository;
+import com.context.memorybook.domain.memory.repository.MemoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Concurrent shares through the real merge path on the H2 loadtest database: the per-user
+ * lock, the memories version check and the transaction retry together must not lose links
+ */
+@SpringBootTest(properties = "memorybook.merge.max-attempts=20")
+@ActiveProfiles("loadtest")
+class MemoryMergeConcurrencyTests {
+
+    private static final long FIRST_USER_ID = 7_000_001L;
+    private static final int USERS = 2;
+    private static final int THREADS = 8;
+    private static final int SHARES_PER_THREAD = 25;
+
+    private static final String TOPIC = "Kubernetes cluster autoscaling moves pods between nodes. " +
+            "The scheduler places pods on nodes with spare capacity and the autoscaler adds nodes " +
+            "to the cluster when pods stay pending.";
+
+    @Autowired
+    private MemoryService memoryService;
+
+    @Autowired
+    private ContentService contentService;
+
+    @Autowired
+    private MemoryRepository memoryRepository;
+
+    @Autowired
+    private MemoryContentRepository memoryContentRepository;
+
+    @Test
+    void concurrentMergesLinkEveryContentId() throws Exception {
+        Set<Long> sharedContentIds = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean sharing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + USERS);
+
+        List<Future<?>> shares = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long userId = FIRST_USER_ID + t % USERS;
+            shares.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < SHARES_PER_THREAD; i++) {
+                    Content content = contentService.saveContent(content(userId, "Autoscaling notes " + i));
+                    sharedContentIds.add(content.getId());
+                    memoryService.createOrUpdateMemoryFromContent(userId, content);
+                }
+                return null;
+            }));
+        }
+
+        // Manual edits of the same memories bump their version outside the merge lock,
+        // so merges hit the optimistic check and have to retry
+        List<Future<?>> edits = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            long userId = FIRST_USER_ID + u;
+            edits.add(executor.submit(() -> {
+                start.await();
+                while (sharing.get()) {
+                    for (Memory memory : memoryRepository.findByUserId(userId)) {
+                        editInPlace(memory.getId(), userId);
+                    }
+                    Thread.sleep(5);
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : shares) {
+            future.get(120, TimeUnit.SECONDS);
+        }
+        sharing.set(false);
+        for (Future<?> future : edits) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        List<Long> linkedContentIds = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            List<Memory> memories = memoryRepository.findByUserId(FIRST_USER_ID + u);
+            assertFalse(memories.isEmpty());
+            for (Memory memory : memories) {
+                linkedContentIds.addAll(memoryContentRepository.findContentIdsByMemoryId(memory.getId()));
+            }
+        }
+        assertEquals(THREADS * SHARES_PER_THREAD, sharedContentIds.size());
+        assertEquals(sharedContentIds.size(), linkedContentIds.size(), "Content linked more than once or lost");
+        assertEquals(sharedContentIds, new HashSet<>(linkedContentIds));
+    }
+
+    private void editInPlace(Long memoryId, Long userId) {
+        Memory current = memoryService.getMemory(memoryId, userId);
+        if (current == null) {
+            return;
+        }
+        Memory edit = new Memory();
+        edit.setContent(current.getContent());
+        edit.setContext(current.getContext());
+        edit.setType(current.getType());
+        try {
+            memoryService.updateMemory(memoryId, userId, edit);
+        } catch (OptimisticLockingFailureException e) {
+            // Lost against a merge; the next round edits again
+        }
+    }
+
+    private Content content(Long userId, String title) {
+        Content content = new Content();
+        content.setUserId(userId);
+        content.setType(ContentType.ARTICLE);
+        content.setTitle(title);
+        content.setTextContent(TOPIC);
+        return content;
+    }
+}
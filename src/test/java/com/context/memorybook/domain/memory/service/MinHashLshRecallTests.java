@@ -0,0 +1,130 @@
+package com.context.memorybook.domain.memory.service;
+
+import com.context.memorybook.domain.ai.service.ContextExtractionService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recall of the LSH candidate lookup against the brute-force matcher it replaces,
+ * both scoring with the similarity production matching uses
+ */
+class MinHashLshRecallTests {
+
+    private static final double THRESHOLD = 0.3;
+    private static final int VOCABULARY = 5_000;
+    private static final int MEMORIES = 5_000;
+    private static final int QUERIES = 1_000;
+
+    private final ContextExtractionService contextExtractionService = new ContextExtractionService();
+
+    @Test
+    void lshFindsTheBruteForceBestMatch() {
+        Random random = new Random(42);
+        List<String> vocabulary = new ArrayList<>(VOCABULARY);
+        for (int i = 0; i < VOCABULARY; i++) {
+            vocabulary.add("term" + i);
+        }
+
+        Map<Long, Set<String>> memories = new HashMap<>();
+        LshTable table = new LshTable();
+        for (long id = 1; id <= MEMORIES; id++) {
+            Set<String> keywords = randomKeywords(random, vocabulary, 10 + random.nextInt(20));
+            memories.put(id, keywords);
+            table.put(id, MinHasher.signature(keywords));
+        }
+
+        int expectedMatches = 0;
+        int found = 0;
+        long candidatesScored = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            // Queries are perturbed copies of a stored memory so that similarities spread around the threshold
+            Set<String> query = perturb(random, vocabulary, memories.get(1L + random.nextInt(MEMORIES)));
+
+            Long bruteForce = best(query, memories, memories.keySet());
+            Set<Long> candidates = table.candidates(MinHasher.signature(query));
+            candidatesScored += candidates.size();
+            Long lsh = best(query, memories, candidates);
+
+            if (bruteForce != null) {
+                expectedMatches++;
+                if (lsh != null && similarity(query, memories.get(lsh)) == similarity(query, memories.get(bruteForce))) {
+                    found++;
+                }
+            } else {
+                assertNull(lsh);
+            }
+        }
+
+        double recall = (double) found / expectedMatches;
+        double scoredFraction = (double) candidatesScored / ((long) QUERIES * MEMORIES);
+        assertTrue(expectedMatches > QUERIES / 2, "benchmark should mostly produce matching queries");
+        assertTrue(recall >= 0.95, "recall " + recall);
+        assertTrue(scoredFraction < 0.05, "scored fraction " + scoredFraction);
+    }
+
+    @Test
+    void signatureRoundTripsThroughBytes() {
+        int[] signature = MinHasher.signature(Set.of("java", "spring", "memory"));
+        int[] restored = MinHasher.fromBytes(MinHasher.toBytes(signature));
+        assertEquals(signature.length, restored.length);
+        for (int i = 0; i < signature.length; i++) {
+            assertEquals(signature[i], restored[i]);
+        }
+        assertNull(MinHasher.fromBytes(null));
+    }
+
+    @Test
+    void emptyKeywordSetHasNoCandidates() {
+        LshTable table = new LshTable();
+        table.put(1L, MinHasher.signature(Set.of()));
+        table.put(2L, MinHasher.signature(Set.of("java")));
+        assertTrue(table.candidates(MinHasher.signature(Set.of())).isEmpty());
+    }
+
+    private Long best(Set<String> query, Map<Long, Set<String>> memories, Set<Long> ids) {
+        Long best = null;
+        double bestSimilarity = 0;
+        for (Long id : ids) {
+            double similarity = similarity(query, memories.get(id));
+            if (similarity >= THRESHOLD && (best == null || similarity > bestSimilarity)) {
+                best = id;
+                bestSimilarity = similarity;
+            }
+        }
+        return best;
+    }
+
+    private double similarity(Set<String> query, Set<String> memory) {
+        return contextExtractionService.calculateSimilarity(query, memory);
+    }
+
+    private static Set<String> randomKeywords(Random random, List<String> vocabulary, int size) {
+        Set<String> keywords = new HashSet<>();
+        while (keywords.size() < size) {
+            keywords.add(vocabulary.get(random.nextInt(vocabulary.size())));
+        }
+        return keywords;
+    }
+
+    private static Set<String> perturb(Random random, List<String> vocabulary, Set<String> keywords) {
+        Set<String> query = new HashSet<>();
+        for (String keyword : keywords) {
+            if (random.nextDouble() < 0.6) {
+                query.add(keyword);
+            }
+        }
+        query.addAll(randomKeywords(random, vocabulary, 2 + random.nextInt(8)));
+        return query;
+    }
+}
@@ -0,0 +1,95 @@
+package com.context.memorybook.domain.memory.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserMergeLockTests {
+
+    private static final int USERS = 4;
+    private static final int THREADS = 16;
+    private static final int SHARES_PER_THREAD = 250;
+
+    /**
+     * Many threads append content ids to the same users' memories with the same
+     * read-modify-write of a memory field the merge path does; none may be lost.
+     */
+    @Test
+    void concurrentMergesForSameUserDoNotLoseContentIds() throws Exception {
+        UserMergeLock lock = new UserMergeLock(256, 10_000);
+        Map<Long, String> relatedContentIds = new ConcurrentHashMap<>();
+        AtomicLong contentIds = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < SHARES_PER_THREAD; i++) {
+                    long userId = contentIds.get() % USERS;
+                    long contentId = contentIds.incrementAndGet();
+                    lock.withLock(userId, () -> {
+                        String current = relatedContentIds.get(userId);
+                        Thread.yield();
+                        relatedContentIds.put(userId, current != null ? current + "," + contentId : String.valueOf(contentId));
+                        return null;
+                    });
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Set<Long> stored = new HashSet<>();
+        relatedContentIds.values().forEach(ids -> Arrays.stream(ids.split(","))
+                .map(Long::parseLong)
+                .forEach(id -> assertTrue(stored.add(id), "Content id merged twice: " + id)));
+        assertEquals(THREADS * SHARES_PER_THREAD, stored.size());
+    }
+
+    @Test
+    void differentUsersDoNotBlockEachOther() throws Exception {
+        UserMergeLock lock = new UserMergeLock(256, 10_000);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        Future<?> holder = executor.submit(() -> lock.withLock(1L, () -> {
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+
+        assertTrue(holding.await(10, TimeUnit.SECONDS));
+        assertEquals("done", lock.withLock(2L, () -> "done"));
+
+        release.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,56 @@
+package com.context.memorybook.infrastructure.persistence;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query count assertions for integration tests running against the real Hibernate setup.
+ * Only statements issued through Hibernate on the calling thread are counted.
+ *
+ *   List<Memory> memories = QueryAssertions.assertMaxQueries(2, () -> memoryService.getMemoriesByUser(userId));
+ */
+public final class QueryAssertions {
+
+    private QueryAssertions() {
+    }
+
+    public static <T> T assertQueryCount(int expected, Supplier<T> action) {
+        QueryStats stats = QueryStats.start();
+        try {
+            T result = action.get();
+            assertEquals(expected, stats.getCount(), () -> "Statements run: " + stats.repeated(1));
+            return result;
+        } finally {
+            QueryStats.stop();
+        }
+    }
+
+    public static <T> T assertMaxQueries(int max, Supplier<T> action) {
+        QueryStats stats = QueryStats.start();
+        try {
+            T result = action.get();
+            assertTrue(stats.getCount() <= max,
+                    () -> "Expected at most " + max + " statements but ran " + stats.getCount() + ": " + stats.repeated(1));
+            return result;
+        } finally {
+            QueryStats.stop();
+        }
+    }
+
+    /**
+     * Fail if any single statement ran maxRepeats or more times, the signature of an N+1 query
+     */
+    public static <T> T assertNoRepeatedQueries(int maxRepeats, Supplier<T> action) {
+        QueryStats stats = QueryStats.start();
+        try {
+            T result = action.get();
+            assertTrue(stats.repeated(maxRepeats).isEmpty(),
+                    () -> "Statements repeated " + maxRepeats + " or more times: " + stats.repeated(maxRepeats));
+            return result;
+        } finally {
+            QueryStats.stop();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.context.memorybook.infrastructure.persistence;
+
+import com.context.memorybook.common.dto.PageResponse;
+import com.context.memorybook.domain.memory.dto.MemorySummary;
+import com.context.memorybook.domain.memory.model.Memory;
+import com.context.memorybook.domain.memory.model.Tag;
+import com.context.memorybook.domain.memory.service.MemoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Statement counts of real repository calls through Hibernate on the H2 loadtest database
+ */
+@SpringBootTest
+@ActiveProfiles("loadtest")
+class QueryCountTests {
+
+    private static final AtomicLong NEXT_USER_ID = new AtomicLong(8_000_001L);
+    private static final int MEMORIES = 10;
+
+    @Autowired
+    private MemoryService memoryService;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = NEXT_USER_ID.getAndIncrement();
+        for (int i = 0; i < MEMORIES; i++) {
+            Memory memory = new Memory();
+            memory.setUserId(userId);
+            memory.setContext("Topic " + i);
+            memory.setContent("Notes about topic " + i);
+            memory.setTags(Set.of(new Tag("topic-" + userId + "-" + i)));
+            memoryService.addMemory(memory);
+        }
+    }
+
+    @Test
+    void memoryPageReadsSummariesInOneStatement() {
+        PageResponse<MemorySummary> page = QueryAssertions.assertQueryCount(1,
+                () -> memoryService.getMemoryPage(userId, null, 20, Set.of()));
+        assertEquals(MEMORIES, page.getItems().size());
+    }
+
+    @Test
+    void heavyFieldsAreReadOncePerPage() {
+        PageResponse<MemorySummary> page = QueryAssertions.assertQueryCount(3,
+                () -> memoryService.getMemoryPage(userId, null, 20, Set.of("content", "relatedContentIds")));
+        assertEquals(MEMORIES, page.getItems().size());
+        page.getItems().forEach(row -> assertNotNull(row.getContent()));
+    }
+}
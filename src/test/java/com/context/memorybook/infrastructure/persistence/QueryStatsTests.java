@@ -0,0 +1,77 @@
+package com.context.memorybook.infrastructure.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryStatsTests {
+
+    private static final String SELECT_MEMORY = "select m1_0.id from memories m1_0 where m1_0.id=?";
+    private static final String SELECT_TAG = "select t1_0.id from tags t1_0 where upper(t1_0.name)=upper(?)";
+
+    private final QueryInspector inspector = new QueryInspector();
+
+    @AfterEach
+    void tearDown() {
+        QueryStats.stop();
+    }
+
+    @Test
+    void countsStatementsOnlyWhileStarted() {
+        inspector.inspect(SELECT_MEMORY);
+
+        QueryStats stats = QueryStats.start();
+        assertEquals(SELECT_MEMORY, inspector.inspect(SELECT_MEMORY));
+        inspector.inspect(SELECT_TAG);
+        assertSame(stats, QueryStats.stop());
+
+        inspector.inspect(SELECT_TAG);
+        assertEquals(2, stats.getCount());
+        assertNull(QueryStats.current());
+    }
+
+    @Test
+    void repeatedListsFrequentStatementsFirst() {
+        QueryStats stats = QueryStats.start();
+        inspector.inspect(SELECT_MEMORY);
+        for (int i = 0; i < 6; i++) {
+            inspector.inspect(SELECT_TAG);
+        }
+        for (int i = 0; i < 3; i++) {
+            inspector.inspect(SELECT_MEMORY);
+        }
+
+        assertEquals(Map.of(SELECT_TAG, 6), stats.repeated(5));
+        assertEquals(List.of(SELECT_TAG, SELECT_MEMORY), List.copyOf(stats.repeated(4).keySet()));
+        assertEquals(10, stats.getCount());
+    }
+
+    @Test
+    void statementsAreCountedPerThread() throws Exception {
+        QueryStats stats = QueryStats.start();
+        Thread other = new Thread(() -> inspector.inspect(SELECT_MEMORY));
+        other.start();
+        other.join();
+
+        assertEquals(0, stats.getCount());
+    }
+
+    @Test
+    void assertionsReportTheStatementsRun() {
+        AssertionError error = assertThrows(AssertionError.class, () -> QueryAssertions.assertMaxQueries(1, () -> {
+            inspector.inspect(SELECT_TAG);
+            return inspector.inspect(SELECT_TAG);
+        }));
+
+        assertTrue(error.getMessage().contains(SELECT_TAG));
+        assertNull(QueryStats.current());
+    }
+}
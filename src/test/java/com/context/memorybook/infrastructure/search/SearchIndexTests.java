@@ -0,0 +1,130 @@
+package com.context.memorybook.infrastructure.search;
+
+import com.context.memorybook.domain.memory.model.Memory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rebuilds fill a new generation while the live one keeps serving searches,
+ * and never bring back documents that live writes changed meanwhile
+ */
+class SearchIndexTests {
+
+    private static final Long USER_ID = 1L;
+    private static final long REFRESH_MS = 10;
+
+    @TempDir
+    Path dataDir;
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = open();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void searchesUseLiveGenerationUntilRebuildFinishes() throws Exception {
+        index.onMemorySaved(memory(1L, "kubernetes autoscaling"));
+
+        index.beginRebuild();
+        index.rebuildMemory(memory(1L, "kubernetes autoscaling"));
+        index.rebuildMemory(memory(2L, "kubernetes scheduler"));
+        assertSearch("kubernetes", 1L);
+
+        index.finishRebuild();
+        assertSearch("kubernetes", 1L, 2L);
+        try (var entries = Files.list(dataDir)) {
+            assertEquals(1, entries.filter(path -> path.getFileName().toString().startsWith("index-")).count());
+        }
+    }
+
+    @Test
+    void rebuildSkipsDocumentsChangedByLiveWrites() throws Exception {
+        index.onMemorySaved(memory(1L, "kubernetes autoscaling"));
+        index.onMemorySaved(memory(2L, "kubernetes scheduler"));
+
+        index.beginRebuild();
+        // Live writes committed after the rebuild read its page
+        index.onMemoryDeleted(1L);
+        index.onMemorySaved(memory(2L, "gardening compost"));
+        index.rebuildMemory(memory(1L, "kubernetes autoscaling"));
+        index.rebuildMemory(memory(2L, "kubernetes scheduler"));
+        index.finishRebuild();
+
+        assertSearch("kubernetes");
+        assertSearch("compost", 2L);
+    }
+
+    @Test
+    void abortedRebuildKeepsLiveGeneration() throws Exception {
+        index.onMemorySaved(memory(1L, "kubernetes autoscaling"));
+
+        index.beginRebuild();
+        index.abortRebuild();
+
+        assertSearch("kubernetes", 1L);
+        assertFalse(index.isDirty());
+    }
+
+    @Test
+    void uncleanShutdownMarksIndexDirty() throws Exception {
+        index.onMemorySaved(memory(1L, "kubernetes autoscaling"));
+        index.close();
+        index = open();
+        assertFalse(index.isDirty());
+        assertSearch("kubernetes", 1L);
+
+        // A run that died leaves its open marker behind
+        index.close();
+        Files.writeString(dataDir.resolve("open"), "");
+        index = open();
+        assertTrue(index.isDirty());
+    }
+
+    private SearchIndex open() throws Exception {
+        SearchIndex searchIndex = new SearchIndex();
+        ReflectionTestUtils.setField(searchIndex, "dataDir", dataDir.toString());
+        ReflectionTestUtils.setField(searchIndex, "maxResults", 100);
+        ReflectionTestUtils.setField(searchIndex, "refreshMaxStaleMs", REFRESH_MS);
+        searchIndex.open();
+        return searchIndex;
+    }
+
+    private void assertSearch(String query, Long... expected) throws InterruptedException {
+        // The near-real-time reader picks up writes within the refresh interval
+        List<Long> found = List.of();
+        for (long deadline = System.currentTimeMillis() + 5000; System.currentTimeMillis() < deadline; ) {
+            found = index.searchMemories(USER_ID, query).stream().sorted().toList();
+            if (found.equals(List.of(expected))) {
+                return;
+            }
+            Thread.sleep(REFRESH_MS);
+        }
+        assertEquals(List.of(expected), found);
+    }
+
+    private Memory memory(Long id, String context) {
+        Memory memory = new Memory();
+        memory.setId(id);
+        memory.setUserId(USER_ID);
+        memory.setContext(context);
+        return memory;
+    }
+}